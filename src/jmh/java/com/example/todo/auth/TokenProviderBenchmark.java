@@ -0,0 +1,61 @@
+package com.example.todo.auth;
+
+import com.example.todo.userapi.entity.Role;
+import com.example.todo.userapi.entity.User;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+// 토큰 발급, 검증 비용
+// - createAccessToken : 로그인, 재발급 시 토큰 생성 (HS512 서명 + JSON 직렬화)
+// - validateAndGetTokenUserInfo : 캐시 없이 요청마다 서명 검사와 파싱을 하는 경우
+// - resolveCached : JwtAuthFilter가 사용하는 VerifiedTokenCache 적중 시
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TokenProviderBenchmark {
+
+    // HS512 서명에는 64바이트 이상의 키가 필요
+    private static final String SECRET = "benchmark-access-secret-".repeat(4);
+    private static final String REFRESH_SECRET = "benchmark-refresh-secret-".repeat(4);
+
+    private TokenProvider tokenProvider;
+    private VerifiedTokenCache verifiedTokenCache;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new TokenProvider(SECRET, REFRESH_SECRET);
+        verifiedTokenCache = new VerifiedTokenCache(tokenProvider, new SimpleMeterRegistry(), 10000);
+        user = User.builder()
+                .id("5b0f6c1e-7a0d-4d8b-9a57-8d6c2f0e3b11")
+                .email("benchmark@example.com")
+                .userName("벤치마크")
+                .password("password")
+                .role(Role.COMMON)
+                .build();
+        // 액세스 토큰 수명(15초)보다 벤치마크가 오래 걸리므로 수명이 긴 토큰을 사용
+        token = tokenProvider.createToken(user, Keys.hmacShaKeyFor(SECRET.getBytes()),
+                1, ChronoUnit.DAYS);
+        verifiedTokenCache.resolve(token);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return tokenProvider.createAccessKey(user);
+    }
+
+    @Benchmark
+    public TokenUserInfo validateAndGetTokenUserInfo() {
+        return tokenProvider.validateAndGetTokenUserInfo(token);
+    }
+
+    @Benchmark
+    public TokenUserInfo resolveCached() {
+        return verifiedTokenCache.resolve(token);
+    }
+}
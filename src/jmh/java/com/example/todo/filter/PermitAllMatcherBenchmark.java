@@ -0,0 +1,43 @@
+package com.example.todo.filter;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 요청 한 건마다 허용 url인지 판단하는 비용 비교
+// - antPathMatcher : 이전 JwtAuthFilter 방식 (요청마다 stream + AntPathMatcher.match + contains("load-profile"))
+// - permitAllMatcher : 시작 시 PathPattern으로 컴파일해 둔 PermitAllMatcher
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PermitAllMatcherBenchmark {
+
+    private static final List<String> PATTERNS = List.of("/", "/api/auth/**", "/swagger-ui/**", "/v3/api-docs/**");
+
+    // 인증이 필요한 요청, 허용 요청, 허용 패턴에 포함되지만 인증이 필요한 요청
+    @Param({"/api/todos/3f2c9a1e-0b7d-4c1a-9d55-2f1e8b6a7c40", "/api/auth/signin", "/api/auth/load-profile"})
+    public String requestURI;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private PermitAllMatcher permitAllMatcher;
+
+    @Setup
+    public void setUp() {
+        permitAllMatcher = new PermitAllMatcher(PATTERNS);
+    }
+
+    @Benchmark
+    public void antPathMatcher(Blackhole blackhole) {
+        boolean isPermitAllUrl = PATTERNS.stream()
+                .anyMatch(pattern -> pathMatcher.match(pattern, requestURI));
+        blackhole.consume(isPermitAllUrl && !requestURI.contains("load-profile"));
+    }
+
+    @Benchmark
+    public void permitAllMatcher(Blackhole blackhole) {
+        blackhole.consume(permitAllMatcher.matches(requestURI));
+    }
+}
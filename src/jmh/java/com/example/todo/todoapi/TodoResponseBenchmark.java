@@ -0,0 +1,73 @@
+package com.example.todo.todoapi;
+
+import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
+import com.example.todo.todoapi.dto.response.TodoListResponseDTO;
+import com.example.todo.todoapi.entity.Todo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// 할 일 목록 응답을 만드는 비용 (목록 크기별)
+// - mapToDto : 엔터티 목록 -> TodoDetailResponseDTO 목록 변환 (TodoService.retrievePage)
+// - serializeToBytes : 응답 전체를 byte[]로 직렬화 (일반 JSON 응답)
+// - serializeToStream : 출력 스트림으로 바로 직렬화 (응답 크기만큼 메모리를 잡지 않는 경우)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TodoResponseBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    // writeValue가 출력 스트림을 닫지 않도록 설정 (응답 스트림은 스프링이 닫는다 - TodoService.exportTo와 같은 설정)
+    // 닫으면 공유하는 discard 스트림에 다음 호출부터 쓸 수 없다
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private final OutputStream discard = OutputStream.nullOutputStream();
+
+    private List<Todo> todos;
+    private TodoListResponseDTO response;
+
+    @Setup
+    public void setUp() {
+        todos = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            todos.add(Todo.builder()
+                    .todoId(UUID.randomUUID().toString())
+                    .title("할 일 " + i)
+                    .done(i % 3 == 0)
+                    .createDate(now.plusSeconds(i))
+                    .build());
+        }
+        response = TodoListResponseDTO.builder()
+                .todos(mapToDto())
+                .build();
+    }
+
+    @Benchmark
+    public List<TodoDetailResponseDTO> mapToDto() {
+        return todos.stream()
+                .map(TodoDetailResponseDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serializeToBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public void serializeToStream() throws IOException {
+        objectMapper.writeValue(discard, response);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.todo.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.Executors;
+
+/**
+ * 부하 테스트용 카카오 OAuth 스텁 서버
+ * KakaoApiClient가 호출하는 세 가지 api만 흉내낸다
+ * - POST /oauth/token    : 인가 코드 -> access token (stub-<인가 코드>)
+ * - GET  /v2/user/me     : access token -> 사용자 정보 (인가 코드마다 다른 이메일)
+ * - POST /v1/user/logout : 로그아웃
+ * - GET  /profile.png    : 프로필 이미지 (1x1 png, ETag로 304 응답)
+ *
+ * 실행 : ./gradlew kakaoStub -Pport=18089 -PlatencyMs=50
+ */
+public class KakaoStubServer {
+
+    // 1x1 투명 png
+    private static final byte[] PROFILE_PNG = Base64.getDecoder().decode(
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==");
+    private static final String PROFILE_ETAG = "\"stub-profile\"";
+
+    public static void main(String[] args) throws IOException {
+        int port = Integer.getInteger("stub.port", 18089);
+        long latencyMillis = Long.getLong("stub.latency-ms", 0);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+
+        server.createContext("/oauth/token", exchange -> {
+            String code = formValue(exchange.getRequestBody(), "code");
+            respond(exchange, latencyMillis, """
+                    {"token_type":"bearer","access_token":"stub-%s","expires_in":43199,
+                     "refresh_token":"stub-refresh-%s","refresh_token_expires_in":5184000,
+                     "scope":"account_email profile"}""".formatted(code, code));
+        });
+
+        server.createContext("/v2/user/me", exchange -> {
+            String token = exchange.getRequestHeaders().getFirst("Authorization")
+                    .replace("Bearer ", "").replace("stub-", "");
+            respond(exchange, latencyMillis, """
+                    {"id":%d,"connected_at":"2024-01-01T00:00:00",
+                     "kakao_account":{"email":"%s@kakao.stub",
+                      "profile":{"nickname":"카카오","profile_image_url":"http://localhost:%d/profile.png"}}}"""
+                    .formatted(Math.abs(token.hashCode()), token, port));
+        });
+
+        server.createContext("/v1/user/logout", exchange ->
+                respond(exchange, latencyMillis, "{\"id\":1}"));
+
+        server.createContext("/profile.png", exchange -> {
+            exchange.getResponseHeaders().set("ETag", PROFILE_ETAG);
+            if (PROFILE_ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "image/png");
+            exchange.sendResponseHeaders(200, PROFILE_PNG.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(PROFILE_PNG);
+            }
+        });
+
+        server.start();
+        System.out.printf("카카오 스텁 서버 시작 - port : %d, latency : %dms%n", port, latencyMillis);
+    }
+
+    private static void respond(HttpExchange exchange, long latencyMillis, String body) throws IOException {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // application/x-www-form-urlencoded 본문에서 값 하나 꺼내기
+    private static String formValue(InputStream body, String name) throws IOException {
+        String form = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        for (String pair : form.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.todo.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 엔드포인트별 응답 시간 기록
+ * 요청마다 응답 시간(마이크로초)을 모아두었다가 마지막에 정렬해서 백분위수를 계산한다
+ */
+public class LatencyRecorder {
+
+    // key : 엔드포인트 이름 (정렬된 순서로 출력)
+    private final Map<String, Samples> samples = new ConcurrentSkipListMap<>();
+
+    public void record(String endpoint, long elapsedNanos, boolean success) {
+        samples.computeIfAbsent(endpoint, key -> new Samples())
+                .add(elapsedNanos / 1_000, success);
+    }
+
+    public void print(long elapsedMillis) {
+        double seconds = Math.max(elapsedMillis, 1) / 1000.0;
+        System.out.printf("%n전체 소요 시간 : %.1fs%n", seconds);
+        System.out.printf("%-22s %8s %7s %10s %10s %10s %10s %10s%n",
+                "endpoint", "count", "errors", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)");
+
+        samples.forEach((endpoint, s) -> {
+            long[] sorted = s.sorted();
+            System.out.printf("%-22s %8d %7d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    endpoint, sorted.length, s.errors(), sorted.length / seconds,
+                    percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000.0);
+        });
+    }
+
+    public long totalErrors() {
+        return samples.values().stream().mapToLong(Samples::errors).sum();
+    }
+
+    // nearest-rank 방식 백분위수 (ms)
+    private static double percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / 1000.0;
+    }
+
+    private static class Samples {
+
+        private long[] values = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long micros, boolean success) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = micros;
+            if (!success) errors++;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.todo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * 부하 테스트 시나리오 실행기
+ * 가상 사용자(스레드)마다 아래 순서로 요청을 보내고, 엔드포인트별 응답 시간과 처리량을 출력한다
+ * 회원 가입 -> 로그인 -> (할 일 등록 -> 목록 조회 -> 완료 체크 -> 삭제 -> 토큰 재발급) x 반복 횟수
+ * (-Pkakao 옵션을 주면 가상 사용자마다 카카오 로그인도 한 번씩 실행)
+ *
+ * 실행 : ./gradlew loadTest -Pusers=50 -Piterations=20 -PbaseUrl=http://localhost:8181
+ */
+public class LoadTestDriver {
+
+    private static final String PASSWORD = "loadtest1234!";
+
+    private final String baseUrl;
+    private final int iterations;
+    private final boolean kakao;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    public LoadTestDriver(String baseUrl, int users, int iterations, boolean kakao) {
+        this.baseUrl = baseUrl;
+        this.iterations = iterations;
+        this.kakao = kakao;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, users / 4)))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("loadtest.base-url", "http://localhost:8181");
+        int users = Integer.getInteger("loadtest.users", 20);
+        int iterations = Integer.getInteger("loadtest.iterations", 10);
+        boolean kakao = Boolean.getBoolean("loadtest.kakao");
+
+        System.out.printf("부하 테스트 시작 - %s, 동시 사용자 : %d, 반복 : %d, 카카오 로그인 : %s%n",
+                baseUrl, users, iterations, kakao);
+
+        LoadTestDriver driver = new LoadTestDriver(baseUrl, users, iterations, kakao);
+        long errors = driver.run(users);
+        System.exit(errors == 0 ? 0 : 1);
+    }
+
+    // 모든 가상 사용자를 동시에 시작하고 끝날 때까지 기다린 뒤 결과 출력
+    public long run(int users) throws InterruptedException {
+        ExecutorService virtualUsers = Executors.newFixedThreadPool(users);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            int userNo = i;
+            futures.add(virtualUsers.submit(() -> {
+                start.await();
+                scenario(userNo);
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                System.out.println("가상 사용자 시나리오 중단 : " + e.getCause());
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+        virtualUsers.shutdown();
+
+        recorder.print(elapsedMillis);
+        return recorder.totalErrors();
+    }
+
+    private void scenario(int userNo) throws IOException, InterruptedException {
+        String email = "lt-" + userNo + "-" + UUID.randomUUID().toString().substring(0, 8) + "@loadtest.com";
+
+        send("POST /api/auth", signUpRequest(email));
+
+        JsonNode login = send("POST /api/auth/signin", json("/api/auth/signin", "POST",
+                Map.of("email", email, "password", PASSWORD), null));
+        String accessToken = login.path("token").path("access_token").asText();
+        String refreshToken = login.path("token").path("refresh_token").asText();
+
+        if (kakao) {
+            send("GET /api/auth/kakaologin", HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/api/auth/kakaologin?code=lt-" + userNo)).GET().build());
+        }
+
+        for (int i = 0; i < iterations; i++) {
+            JsonNode created = send("POST /api/todos", json("/api/todos?mode=delta", "POST",
+                    Map.of("title", "할 일 " + i), accessToken));
+            String todoId = created.path("id").asText();
+
+            send("GET /api/todos", HttpRequest.newBuilder(URI.create(baseUrl + "/api/todos"))
+                    .header("Authorization", "Bearer " + accessToken)
+                    .GET().build());
+
+            send("PATCH /api/todos", json("/api/todos?mode=delta", "PATCH",
+                    Map.of("id", todoId, "done", true), accessToken));
+
+            send("DELETE /api/todos/{id}", HttpRequest.newBuilder(
+                            URI.create(baseUrl + "/api/todos/" + todoId + "?mode=delta"))
+                    .header("Authorization", "Bearer " + accessToken)
+                    .DELETE().build());
+
+            // 액세스 토큰 수명이 짧으므로 반복마다 재발급받아서 사용
+            JsonNode renewed = send("POST /api/auth/refresh", json("/api/auth/refresh", "POST",
+                    Map.of("refreshToken", refreshToken), null));
+            if (renewed.hasNonNull("accessToken")) {
+                accessToken = renewed.get("accessToken").asText();
+            }
+        }
+    }
+
+    // 요청을 보내고 응답 시간을 기록 (2xx가 아니면 오류로 기록)
+    private JsonNode send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        long begin = System.nanoTime();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        long elapsed = System.nanoTime() - begin;
+
+        boolean success = response.statusCode() / 100 == 2;
+        recorder.record(endpoint, elapsed, success);
+        if (!success || response.body().length == 0) {
+            return objectMapper.createObjectNode();
+        }
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            // JSON이 아닌 응답 (문자열 등)
+            return objectMapper.createObjectNode();
+        }
+    }
+
+    private HttpRequest json(String path, String method, Object body, String accessToken) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (accessToken != null) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+        return builder.build();
+    }
+
+    // 회원 가입은 multipart 요청 (user 파트에 JSON, 프로필 이미지는 생략)
+    private HttpRequest signUpRequest(String email) throws IOException {
+        String boundary = "loadtest-" + UUID.randomUUID();
+        String user = objectMapper.writeValueAsString(
+                Map.of("email", email, "password", PASSWORD, "userName", "부하테스트"));
+        String body = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"user\"\r\n"
+                + "Content-Type: application/json\r\n\r\n"
+                + user + "\r\n"
+                + "--" + boundary + "--\r\n";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+}
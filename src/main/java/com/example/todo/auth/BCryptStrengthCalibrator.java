@@ -0,0 +1,57 @@
+package com.example.todo.auth;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+@Slf4j
+// 역할 : 서버 성능에 맞는 BCrypt 강도(cost)를 측정하는 객체 (권장값 안내용, 실제 강도는 password.bcrypt.strength 설정)
+// cost가 1 오를 때마다 해시 시간이 약 2배가 되므로, 목표 시간을 넘지 않는 가장 높은 cost를 고른다
+public final class BCryptStrengthCalibrator {
+
+    // 보안을 위해 기본값(10) 아래로는 내리지 않는다
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 14;
+
+    private static final String SAMPLE_PASSWORD = "calibration-password!";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    /**
+     * 해시 한 번에 걸리는 시간이 목표 시간 이하가 되는 가장 높은 강도를 측정
+     *
+     * @param target - 해시 한 번의 목표 시간
+     * @return - 사용할 BCrypt 강도 (MIN_STRENGTH ~ MAX_STRENGTH)
+     */
+    public static int calibrate(Duration target) {
+        long targetNanos = target.toNanos();
+        int strength = MIN_STRENGTH;
+
+        // JIT 워밍업
+        measure(MIN_STRENGTH);
+
+        long elapsed = measure(strength);
+        while (strength < MAX_STRENGTH && elapsed * 2 <= targetNanos) {
+            strength++;
+            elapsed = measure(strength);
+        }
+
+        log.info("BCrypt 강도 측정 완료 - strength : {}, 해시 시간 : {}ms (목표 {}ms)",
+                strength, elapsed / 1_000_000, target.toMillis());
+        return strength;
+    }
+
+    // 해당 강도로 해시 한 번에 걸리는 시간 (3번 측정한 값 중 가장 짧은 시간)
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
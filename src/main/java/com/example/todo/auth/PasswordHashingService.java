@@ -0,0 +1,119 @@
+package com.example.todo.auth;
+
+import com.example.todo.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Slf4j
+// 역할 : 비밀번호 해시(BCrypt 등)를 전용 스레드 풀에서 실행
+// 해시는 CPU를 많이 사용하므로, 로그인 요청이 몰려도 동시에 실행되는 해시 수를 CPU 코어 수로 제한한다
+// 대기열이 가득 차면 기다리지 않고 바로 429(Too Many Requests)로 응답한다 (타임아웃까지 끌지 않음)
+// 대기열에서 타임아웃까지 시작하지 못한 작업은 대기열에서 빼고 429로 응답한다
+// 이미 시작한 해시는 인터럽트로 멈출 수 없으므로 끝날 때까지 기다려서 결과를 사용한다 (버려지는 해시 계산이 없도록)
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    // 대기열에서 기다릴 수 있는 최대 시간
+    private final long timeoutMillis;
+
+    private final Counter rejectedCounter;
+    private final Counter timeoutCounter;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${password.hashing.threads:0}") int threads,
+                                  @Value("${password.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${password.hashing.timeout-ms:5000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+
+        // 스레드 수를 지정하지 않았다면 CPU 코어 수만큼 사용
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.rejectedCounter = Counter.builder("password.hashing.rejected")
+                .description("대기열이 가득 차서 거절된 비밀번호 해시 요청 수")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("password.hashing.timeouts")
+                .description("대기열에서 제한 시간 안에 시작하지 못해서 거절된 비밀번호 해시 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.queue", executor, e -> e.getQueue().size())
+                .description("비밀번호 해시 대기열 길이")
+                .register(meterRegistry);
+    }
+
+    // 비밀번호 해시
+    public String encode(String rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    // 비밀번호 검증
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // 저장된 해시가 현재 설정(알고리즘, 강도)과 달라서 다시 해시해야 하는지 확인
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("비밀번호 해시 대기열이 가득 찼습니다 - 대기 : {}", executor.getQueue().size());
+            throw new TooManyRequestsException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요");
+        }
+
+        try {
+            try {
+                return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // 아직 대기열에 있다면 빼고 거절 (실행되지 않으므로 스레드를 낭비하지 않는다)
+                if (executor.remove((Runnable) future)) {
+                    timeoutCounter.increment();
+                    log.warn("비밀번호 해시 대기 시간 초과 - 대기 : {}", executor.getQueue().size());
+                    throw new TooManyRequestsException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요");
+                }
+                // 이미 실행 중이라면 멈출 수 없으므로 결과를 기다린다
+                return future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 처리 중 인터럽트가 발생했습니다", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -3,6 +3,7 @@ package com.example.todo.auth;
 import com.example.todo.userapi.entity.Role;
 import com.example.todo.userapi.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -10,11 +11,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @Component
 @Slf4j
@@ -22,21 +25,52 @@ import java.util.Map;
 // 역할 : 토큰을 발급하고, 서명 위조를 검사하는 객체
 public class TokenProvider {
 
-    // 서명에 사용할 값 (512비트 이상의 랜덤 문자열 권장)
+    // 서명에 사용할 키 (512비트 이상의 랜덤 문자열 권장)
+    // 요청마다 키와 파서를 새로 만들지 않도록 생성 시점에 한 번만 만들어 둔다
+    // (JwtParser는 생성 이후 상태가 바뀌지 않으므로 여러 스레드에서 공유해도 안전하다)
+    private final SecretKey accessSigningKey;
+    private final SecretKey refreshSigningKey;
+    private final JwtParser accessTokenParser;
+    private final JwtParser refreshTokenParser;
+
     // @Value : properties 형태의 파일 내용을 읽어서 변수에 대입해주는 아노테이션 (yml도 가능)
-    @Value("${jwt.secret}")
-    private String SECRET_KEY;
-    @Value("${jwt.refresh-secret}")
-    private String REFRESH_SECRET_KEY;
+    public TokenProvider(@Value("${jwt.secret}") String secretKey,
+                         @Value("${jwt.refresh-secret}") String refreshSecretKey) {
+        this.accessSigningKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.refreshSigningKey = Keys.hmacShaKeyFor(refreshSecretKey.getBytes());
+        this.accessTokenParser = buildParser(accessSigningKey);
+        this.refreshTokenParser = buildParser(refreshSigningKey);
+    }
+
+    private static JwtParser buildParser(SecretKey signingKey) {
+        return Jwts.parserBuilder()
+                // 토큰 발급자의 발급 당시 서명을 넣는다
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    /**
+     * JSON Web Token을 생성하는 메서드
+     *
+     * @param userEntity - 토큰의 내용(클레임)에 포함될 유저 정보
+     * @param signingKey - 서명에 사용할 키
+     * @return - 생성된 JSON을 암호화 한 토큰값
+     */
+    public String createToken(
+            User userEntity, SecretKey signingKey, long duration, ChronoUnit unit) {
+        return createToken(userEntity, signingKey, duration, unit, null);
+    }
 
     /**
      * JSON Web Token을 생성하는 메서드
      *
      * @param userEntity - 토큰의 내용(클레임)에 포함될 유저 정보
+     * @param signingKey - 서명에 사용할 키
+     * @param tokenId - 토큰 id (jti 클레임, null이면 넣지 않는다)
      * @return - 생성된 JSON을 암호화 한 토큰값
      */
     public String createToken(
-            User userEntity, String secretKey, long duration, ChronoUnit unit) {
+            User userEntity, SecretKey signingKey, long duration, ChronoUnit unit, String tokenId) {
         // 토큰 만료 시간 생성
         Date expiry = Date.from(
                 Instant.now().plus(duration, unit)
@@ -62,44 +96,42 @@ public class TokenProvider {
 
         return Jwts.builder()
                 //token Header에 들어갈 서명
-                .signWith(
-                        Keys.hmacShaKeyFor(secretKey.getBytes()),
-                        SignatureAlgorithm.HS512
-                )
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 // token payload에 들어갈 클레임 설정
                 .setClaims(claims)  // 추가 클레임을 먼저 설정해야 한다
                 .setIssuer("Todo운영자") // iss: 발급자 정보
                 .setIssuedAt(new Date()) // iat: 발급 시간
                 .setExpiration(expiry) // exp: 만료 시간
                 .setSubject(userEntity.getId()) // sub: 토큰을 식별할 수 있는 주요 데이터
+                .setId(tokenId) // jti: 토큰 id (리프레시 토큰 발급 기록 조회용)
                 .compact();
     }
 
     public String createAccessKey(User userEntity) {
-        return createToken(userEntity, SECRET_KEY, 15, ChronoUnit.SECONDS);
+        return createToken(userEntity, accessSigningKey, 15, ChronoUnit.SECONDS);
     }
 
-    public String createRefreshKey(User userEntity) {
-        return createToken(userEntity, REFRESH_SECRET_KEY, 2, ChronoUnit.MINUTES);
+    // 리프레시 토큰은 발급 기록(tbl_refresh_token)의 기본 키로 쓸 토큰 id를 함께 넣는다
+    public String createRefreshKey(User userEntity, String tokenId) {
+        return createToken(userEntity, refreshSigningKey, 2, ChronoUnit.MINUTES, tokenId);
     }
 
 
     // 토큰에서 클레임을 추출하는 로직 분리
-    private Claims getClaims(String token, String secretKey) {
-        Claims claims = Jwts.parserBuilder()
-                // 토큰 발급자의 발급 당시 서명을 넣는다
-                .setSigningKey(Keys.hmacShaKeyFor(secretKey.getBytes()))
-                // 서명 위조 검사 : 위조된 경우 예외 발생
-                // 위조되지 않은 경우 payload 리턴
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims;
+    private Claims getClaims(String token, JwtParser parser) {
+        // 서명 위조 검사 : 위조된 경우 예외 발생
+        // 위조되지 않은 경우 payload 리턴
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    // 액세스 토큰의 서명을 검사하고 클레임을 리턴 (위조, 만료 시 예외 발생)
+    public Claims getAccessTokenClaims(String token) {
+        return getClaims(token, accessTokenParser);
     }
 
     // 리프레시 토큰 만료시간만 추출
     public Date getExpiryDate(String token) {
-        Claims claims = getClaims(token, REFRESH_SECRET_KEY);
+        Claims claims = getClaims(token, refreshTokenParser);
         return claims.getExpiration();
     }
 
@@ -111,10 +143,15 @@ public class TokenProvider {
      * @return - 토큰 안에 있는 인증된 유저 정보 반환
      */
     public TokenUserInfo validateAndGetTokenUserInfo(String token) {
-        Claims claims = getClaims(token, SECRET_KEY);
+        Claims claims = getAccessTokenClaims(token);
 
         log.info("claims : {}", claims);
 
+        return toTokenUserInfo(claims);
+    }
+
+    // 검증이 끝난 클레임에서 유저 정보를 꺼낸다
+    public TokenUserInfo toTokenUserInfo(Claims claims) {
         return TokenUserInfo.builder()
                 .userId(claims.getSubject())
                 .email(claims.get("email", String.class))
@@ -124,12 +161,16 @@ public class TokenProvider {
 
     // refresh token의 유효성 검사
     public boolean validateRefreshToken(String token) {
+        return getRefreshTokenClaims(token).isPresent();
+    }
+
+    // refresh token의 서명을 검사하고 클레임을 리턴 (위조, 만료된 경우 비어있는 Optional)
+    public Optional<Claims> getRefreshTokenClaims(String token) {
         try {
-            getClaims(token, REFRESH_SECRET_KEY);
-            return true;
+            return Optional.of(getClaims(token, refreshTokenParser));
         } catch (Exception e) {
             log.warn("유효하지 않은 리프레시 토큰입니다");
-            return false;
+            return Optional.empty();
         }
     }
 
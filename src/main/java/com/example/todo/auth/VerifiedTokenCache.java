@@ -0,0 +1,105 @@
+package com.example.todo.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+@Component
+// 역할 : 한 번 서명 검사를 통과한 액세스 토큰의 유저 정보를 만료 시각까지 보관하는 캐시
+// 클라이언트는 같은 토큰을 여러 번 보내기 때문에, 매 요청마다 HMAC 검증과 JSON 파싱을 반복하지 않도록 한다
+// 항목마다 토큰의 만료 시각(exp)에 맞춰 제거되고, 가득 차면 Caffeine이 오래 사용되지 않은 항목부터 내보낸다
+public class VerifiedTokenCache {
+
+    // 메트릭 이름 : cache.gets{cache=verifiedToken,result=hit|miss}, cache.size{cache=verifiedToken} 등
+    private static final String CACHE_NAME = "verifiedToken";
+
+    private final TokenProvider tokenProvider;
+
+    // key : 토큰의 SHA-256 해시값 (토큰 원문을 메모리에 들고 있지 않기 위함)
+    private final Cache<String, CachedToken> cache;
+
+    public VerifiedTokenCache(TokenProvider tokenProvider,
+                              MeterRegistry meterRegistry,
+                              @Value("${jwt.cache.max-size:10000}") int maxSize) {
+        this.tokenProvider = tokenProvider;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                // 적중률 통계 기록 (CacheConfig의 회원 캐시와 같은 방식으로 노출)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 토큰을 검증하고 유저 정보를 리턴
+     * 캐시에 만료되지 않은 검증 결과가 있다면 서명 검사 없이 바로 리턴한다
+     *
+     * @param token - 필터가 전달해준 토큰
+     * @return - 토큰 안에 있는 인증된 유저 정보
+     */
+    public TokenUserInfo resolve(String token) {
+        String key = digest(token);
+
+        // 만료 시각이 지난 항목은 조회되지 않으므로 다시 검증한다 (만료 예외가 발생하도록)
+        CachedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.userInfo();
+        }
+
+        // 서명 위조, 만료 시 예외 발생 -> JWTExceptionFilter에서 처리
+        Claims claims = tokenProvider.getAccessTokenClaims(token);
+        TokenUserInfo userInfo = tokenProvider.toTokenUserInfo(claims);
+
+        // 만료 시각이 없는 토큰은 캐싱하지 않는다
+        if (claims.getExpiration() != null) {
+            cache.put(key, new CachedToken(userInfo, claims.getExpiration().getTime()));
+        }
+        return userInfo;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 JVM은 SHA-256을 지원해야 하므로 발생하지 않는다
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record CachedToken(TokenUserInfo userInfo, long expiresAt) {
+    }
+
+    // 항목의 수명 = 토큰 만료 시각까지 남은 시간 (조회해도 늘어나지 않는다)
+    private static class TokenExpiry implements Expiry<String, CachedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedToken value, long currentTime) {
+            long remainingMillis = value.expiresAt() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
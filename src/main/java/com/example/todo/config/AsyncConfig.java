@@ -0,0 +1,12 @@
+package com.example.todo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+@Configuration
+@EnableAsync    // @Async 메서드를 별도의 스레드에서 실행하기 위한 설정
+// @Async 작업은 스프링 부트가 등록하는 applicationTaskExecutor에서 실행된다
+// spring.threads.virtual.enabled=true 라면 작업마다 가상 스레드를 생성하는 실행기가 등록되고,
+// 아니라면 크기가 제한된 플랫폼 스레드 풀(spring.task.execution.pool.*)이 등록된다
+public class AsyncConfig {
+}
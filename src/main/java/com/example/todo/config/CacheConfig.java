@@ -0,0 +1,37 @@
+package com.example.todo.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching  // @Cacheable, @CacheEvict 아노테이션을 사용하기 위한 설정
+public class CacheConfig {
+
+    // 캐시 이름 (회원 id로 조회, 이메일로 조회, 이메일 중복 여부)
+    public static final String USER_BY_ID = "userById";
+    public static final String USER_BY_EMAIL = "userByEmail";
+    public static final String USER_EXISTS_BY_EMAIL = "userExistsByEmail";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.user.max-size:10000}") long maxSize,
+            @Value("${cache.user.ttl-minutes:10}") long ttlMinutes) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                // 적중률 통계 기록 -> actuator가 cache.gets{result=hit|miss} 메트릭으로 노출
+                .recordStats());
+        // 캐시 이름을 미리 등록해야 기동 시점에 메트릭이 등록된다
+        cacheManager.setCacheNames(List.of(USER_BY_ID, USER_BY_EMAIL, USER_EXISTS_BY_EMAIL));
+        return cacheManager;
+    }
+}
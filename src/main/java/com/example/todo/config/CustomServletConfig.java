@@ -1,17 +1,30 @@
 package com.example.todo.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class CustomServletConfig implements WebMvcConfigurer {
 
+    // 스트리밍 응답 등 비동기 요청의 최대 처리 시간 (대용량 목록 내보내기가 중간에 끊기지 않도록)
+    @Value("${todo.async.request-timeout-ms:300000}")
+    private long asyncRequestTimeout;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncRequestTimeout);
+    }
+
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")  // CORS 설정을 적용할 url
                 .allowedOrigins("*")    // 자원 공유를 허라할 origin 설정 (origin : 프로토콜, ip 주소, 포트 번호)
                 .allowedMethods("HEAD", "GET", "PUT", "POST", "PATCH", "DELETE", "OPTIONS")  // 요청 방식
                 .maxAge(30) // 원하는 시간만큼 기존에 허락했던 요청 정보를 기억할 시간
-                .allowedHeaders("Authorization", "Cache-Control", "Content-Type");  // 요청을 허락할 헤더 정보 종류
+                .allowedHeaders("Authorization", "Cache-Control", "Content-Type", "X-Response-Mode", "If-None-Match",
+                        "If-Modified-Since", "Range", "If-Range")  // 요청을 허락할 헤더 정보 종류
+                .exposedHeaders("ETag", "Last-Modified", "Accept-Ranges", "Content-Range");    // 클라이언트 스크립트에서 읽을 수 있도록 노출할 응답 헤더
     }
 }
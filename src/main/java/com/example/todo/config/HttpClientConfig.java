@@ -0,0 +1,134 @@
+package com.example.todo.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+@Configuration
+// 외부 API(카카오 OAuth, 프로필 이미지) 호출에 사용할 http client 설정
+// 요청마다 RestTemplate을 새로 만들면 커넥션을 재사용하지 못하고 타임아웃도 없어서
+// 카카오 서버가 느려지면 Tomcat 스레드가 무한정 대기하게 된다
+public class HttpClientConfig {
+
+    @Value("${kakao.http.max-total:100}")
+    private int maxTotal;   // 전체 커넥션 수
+
+    @Value("${kakao.http.max-per-route:20}")
+    private int maxPerRoute;    // 호스트(kauth.kakao.com, kapi.kakao.com)별 커넥션 수
+
+    @Value("${kakao.http.connect-timeout-ms:2000}")
+    private long connectTimeout;    // 연결 타임아웃
+
+    @Value("${kakao.http.read-timeout-ms:3000}")
+    private long readTimeout;   // 응답 대기 타임아웃
+
+    @Value("${kakao.http.pool-timeout-ms:1000}")
+    private long poolTimeout;   // 풀에서 커넥션을 얻기까지 기다리는 시간
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient kakaoHttpClient() {
+        return pooledHttpClient(maxTotal, maxPerRoute, connectTimeout, readTimeout);
+    }
+
+    @Bean
+    public RestTemplate kakaoRestTemplate(@Qualifier("kakaoHttpClient") CloseableHttpClient kakaoHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(kakaoHttpClient));
+    }
+
+    // 카카오 프로필 이미지(CDN) 전용 http client (RemoteProfileImageCache)
+    // OAuth 호출과 커넥션 풀을 나눠서, CDN이 느려지거나 장애가 나도 카카오 로그인 커넥션을 차지하지 않도록 한다
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient kakaoImageHttpClient(
+            @Value("${kakao.image.http.max-total:20}") int imageMaxTotal,
+            @Value("${kakao.image.http.max-per-route:10}") int imageMaxPerRoute,
+            @Value("${kakao.image.http.connect-timeout-ms:1000}") long imageConnectTimeout,
+            @Value("${kakao.image.http.read-timeout-ms:2000}") long imageReadTimeout) {
+        return pooledHttpClient(imageMaxTotal, imageMaxPerRoute, imageConnectTimeout, imageReadTimeout);
+    }
+
+    @Bean
+    public RestTemplate kakaoImageRestTemplate(@Qualifier("kakaoImageHttpClient") CloseableHttpClient kakaoImageHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(kakaoImageHttpClient));
+    }
+
+    private CloseableHttpClient pooledHttpClient(int maxTotal, int maxPerRoute, long connectTimeout, long readTimeout) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout))
+                        // 오래된 커넥션은 재사용하지 않음
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeout))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout))
+                        .build())
+                // 서버가 알려준 Keep-Alive 시간만큼 커넥션 재사용
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                // 유휴 커넥션, 만료된 커넥션을 백그라운드에서 정리
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .evictExpiredConnections()
+                .build();
+    }
+
+    // 카카오 API 호출이 연속으로 실패하거나 느려지면 일정 시간 동안 호출을 차단 (바로 실패 응답)
+    @Bean
+    public CircuitBreaker kakaoCircuitBreaker(
+            @Value("${kakao.circuit.failure-rate:50}") float failureRate,
+            @Value("${kakao.circuit.slow-call-ms:2000}") long slowCallMillis,
+            @Value("${kakao.circuit.open-seconds:30}") long openSeconds) {
+        return circuitBreaker("kakao", failureRate, slowCallMillis, openSeconds);
+    }
+
+    // 카카오 프로필 이미지(CDN) 호출 전용 서킷 브레이커 (CDN 장애가 로그인 호출의 차단 여부에 영향을 주지 않도록 분리)
+    @Bean
+    public CircuitBreaker kakaoImageCircuitBreaker(
+            @Value("${kakao.image.circuit.failure-rate:50}") float failureRate,
+            @Value("${kakao.image.circuit.slow-call-ms:1500}") long slowCallMillis,
+            @Value("${kakao.image.circuit.open-seconds:60}") long openSeconds) {
+        return circuitBreaker("kakaoImage", failureRate, slowCallMillis, openSeconds);
+    }
+
+    private static CircuitBreaker circuitBreaker(String name, float failureRate, long slowCallMillis, long openSeconds) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                // 최근 20번의 호출 중 (최소 10번 호출 이후) 실패율 또는 느린 호출 비율이 기준을 넘으면 차단
+                .slidingWindowSize(20)
+                .minimumNumberOfCalls(10)
+                .failureRateThreshold(failureRate)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallMillis))
+                .slowCallRateThreshold(80)
+                // 차단 후 일정 시간이 지나면 일부 호출을 허용해서 복구 여부 확인
+                .waitDurationInOpenState(Duration.ofSeconds(openSeconds))
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .recordExceptions(RestClientException.class)
+                // 4xx는 카카오 장애가 아니라 요청의 문제 (잘못되었거나 재사용된 인가 코드, 삭제된 이미지 등)
+                // 실패로 기록하면 잘못된 요청이 몰릴 때 모든 회원의 호출이 차단되므로 제외
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build();
+        return CircuitBreaker.of(name, config);
+    }
+}
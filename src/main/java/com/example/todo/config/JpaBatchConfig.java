@@ -0,0 +1,24 @@
+package com.example.todo.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaBatchConfig {
+
+    // 여러 건의 INSERT, UPDATE를 JDBC batch로 묶어서 전송하기 위한 하이버네이트 설정
+    // Todo의 id는 UUID로 애플리케이션에서 생성하므로 (IDENTITY가 아님) INSERT도 batch로 묶을 수 있다
+    // MySQL에서 실제로 한 번에 전송하려면 JDBC url에 rewriteBatchedStatements=true 옵션도 필요하다
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer(
+            @Value("${todo.jdbc.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.put(AvailableSettings.ORDER_INSERTS, true);
+            properties.put(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.todo.config;
+
+import jakarta.servlet.MultipartConfigElement;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.MultipartConfigFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+public class MultipartConfig {
+
+    // 업로드 파일 최대 크기 (ProfileImageStore도 같은 값으로 검사)
+    @Value("${upload.profile.max-bytes:5242880}")
+    private long maxFileBytes;
+
+    // 이 크기 이하의 파트는 디스크에 쓰지 않고 메모리에서 처리
+    @Value("${upload.multipart.file-size-threshold-bytes:65536}")
+    private long fileSizeThresholdBytes;
+
+    // 서블릿 컨테이너가 multipart 요청을 읽는 도중에 크기 제한을 검사하도록 설정
+    // 제한을 넘으면 끝까지 읽지 않고 바로 거절한다 (MaxUploadSizeExceededException -> 413)
+    @Bean
+    public MultipartConfigElement multipartConfigElement() {
+        MultipartConfigFactory factory = new MultipartConfigFactory();
+        factory.setMaxFileSize(DataSize.ofBytes(maxFileBytes));
+        // 회원 정보 JSON 파트 등을 위한 여유분
+        factory.setMaxRequestSize(DataSize.ofBytes(maxFileBytes + DataSize.ofKilobytes(64).toBytes()));
+        factory.setFileSizeThreshold(DataSize.ofBytes(fileSizeThresholdBytes));
+        return factory.createMultipartConfig();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.todo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@Slf4j
+// MySQL Connector/J는 기본적으로 fetch size를 무시하고 결과 전체를 메모리에 올린다
+// useCursorFetch=true 옵션이 있어야 fetch size(TodoRepository.streamDetailsByUserId의 500)만큼씩 서버 커서로 가져온다
+// JDBC url은 배포 환경마다 따로 설정하므로, url에 옵션이 없어도 커넥션 속성으로 항상 전달되도록 한다
+// 주의 : 이 옵션은 fetch size를 지정한 모든 쿼리를 서버 커서(서버 측 prepared statement)로 실행한다
+// (fetch size를 지정하지 않은 쿼리는 기존처럼 한 번에 가져온다)
+public class MySqlCursorFetchConfig {
+
+    private static final String CURSOR_FETCH = "useCursorFetch";
+
+    // 데이터 소스가 커넥션 풀을 시작하기 전에 드라이버 속성을 추가
+    // p6spy(DataSourceDecoratorBeanPostProcessor, Ordered)가 HikariDataSource를 감싸기 전에 실행되어야 하므로
+    // PriorityOrdered + 가장 높은 우선순위로 등록한다
+    @Bean
+    public static BeanPostProcessor mySqlCursorFetchPostProcessor(Environment environment) {
+        return new CursorFetchPostProcessor(environment);
+    }
+
+    private static class CursorFetchPostProcessor implements BeanPostProcessor, PriorityOrdered {
+
+        private final Environment environment;
+
+        CursorFetchPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource dataSource
+                    && environment.getProperty("todo.jdbc.cursor-fetch", Boolean.class, true)
+                    && dataSource.getJdbcUrl() != null
+                    && dataSource.getJdbcUrl().startsWith("jdbc:mysql:")
+                    && !dataSource.getJdbcUrl().contains(CURSOR_FETCH)) {
+                dataSource.addDataSourceProperty(CURSOR_FETCH, "true");
+                log.info("MySQL 커넥션에 {}=true 설정 (대용량 조회 스트리밍)", CURSOR_FETCH);
+            }
+            return bean;
+        }
+    }
+}
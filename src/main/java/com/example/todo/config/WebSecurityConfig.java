@@ -1,9 +1,13 @@
 package com.example.todo.config;
 
+import com.example.todo.auth.BCryptStrengthCalibrator;
 import com.example.todo.exception.CustomAccessDeniedHandler;
 import com.example.todo.filter.JWTExceptionFilter;
 import com.example.todo.filter.JwtAuthFilter;
+import com.example.todo.filter.PermitAllMatcher;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,15 +18,20 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-import java.util.Arrays;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
+@Slf4j
 @EnableWebSecurity
 @EnableMethodSecurity   // 자동 권한 검사를 컨트롤러릐 메서드에서 전역적으로 수행하기 위한 설정
 //@EnableGlobalMethodSecurity(prePostEnabled = true)
@@ -32,15 +41,12 @@ public class WebSecurityConfig {
     private final JwtAuthFilter jwtAuthFilter;
     private final JWTExceptionFilter jwtExceptionFilter;
     private final CustomAccessDeniedHandler accessDeniedHandler;
-    private final RequestProperies properies;
+    private final PermitAllMatcher permitAllMatcher;
 
     // 시큐리티 기본 설정 (권한처리, 초기 로그인 화면 없애기 ....)
     @Bean // 라이브러리 클래스 같은 내가 만들지 않은 객체를 등록해서 주입받기 위한 아노테이션.
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
-        // yml에서 가져온 허용 url 리스트를 jwtAuthFilter에게 전달
-        jwtAuthFilter.setPermitAllPatterns(properies.getPermitAllPatterns());
-
         http
                 .csrf(csrfConfig -> csrfConfig.disable()) // CSRF 토큰공격을 방지하기 위한 장치 해제.
                 .cors(Customizer.withDefaults())
@@ -61,6 +67,8 @@ public class WebSecurityConfig {
                 .addFilterBefore(jwtExceptionFilter, JwtAuthFilter.class)
                 .authorizeHttpRequests(authorizeRequests ->
                         authorizeRequests
+                                // 스트리밍 응답(StreamingResponseBody 등)이 끝난 뒤의 비동기 디스패치는 이미 인증을 통과한 요청이므로 허용
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                                 // ex) /api/todos 라는 요청이 post로 들어오고, Role 값이 ADMIN인 경우 권한 검사없이 허용하겠다
                                 // .requestMatchers(HttpMethod.POST, "/api/todos").hasRole("ADMIN")
 
@@ -69,7 +77,8 @@ public class WebSecurityConfig {
                                 .requestMatchers(HttpMethod.PUT, "/api/auth/promote").authenticated()
                                 .requestMatchers("/api/auth/load-profile").authenticated()
                                 // /api/auth로 시작하거나 / 요청은 권한 검사 없이 허용한다
-                                .requestMatchers(Arrays.toString(properies.getPermitAllPatterns().toArray()).split(", "))
+                                // (jwtAuthFilter와 같은 matcher를 사용)
+                                .requestMatchers(permitAllMatcher)
                                 .permitAll()
                                 // 위에서 따로 설정하지 않은 나머지 요청들은 권한 검사가 필요하다
                                 .anyRequest().authenticated()
@@ -85,8 +94,33 @@ public class WebSecurityConfig {
     }
 
     // 비밀번호 암호화 객체를 빈 등록
+    // - BCrypt 강도는 설정값(password.bcrypt.strength)을 사용한다 (모든 서버가 같은 값을 사용해야 함)
+    //   서버마다 다른 강도를 쓰면 로그인할 때마다 서로의 해시를 다시 만들게 되므로 기동 시 측정한 값을 바로 사용하지 않는다
+    // - password.bcrypt.calibrate=true면 기동 시 해시 한 번이 목표 시간(password.bcrypt.target-ms)에 가까운 강도를 측정해서 로그로 알려준다
+    // - 저장되는 해시에는 {bcrypt}, {argon2}처럼 알고리즘 id가 붙는다 (password.encoding-id로 새 해시의 알고리즘 선택)
+    // - id가 없는 기존 해시는 BCrypt로 검증하고, 로그인 시 현재 설정으로 다시 해시한다
+    //   (BCrypt는 저장된 강도가 설정보다 낮을 때만 다시 해시하고, 더 높은 해시를 낮추지는 않는다)
     @Bean
-    public PasswordEncoder encoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder encoder(
+            @Value("${password.bcrypt.strength:10}") int strength,
+            @Value("${password.bcrypt.calibrate:false}") boolean calibrate,
+            @Value("${password.bcrypt.target-ms:250}") long targetMillis,
+            @Value("${password.encoding-id:bcrypt}") String encodingId) {
+        if (calibrate) {
+            int recommended = BCryptStrengthCalibrator.calibrate(Duration.ofMillis(targetMillis));
+            if (recommended != strength) {
+                log.warn("BCrypt 권장 강도는 {}입니다 (현재 설정 : {}). 모든 서버의 password.bcrypt.strength를 함께 변경하세요",
+                        recommended, strength);
+            }
+        }
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(encodingId, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 }
@@ -0,0 +1,16 @@
+package com.example.todo.exception;
+
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+// 외부 API(카카오 등) 호출이 실패했거나 서킷 브레이커로 차단된 경우 발생 -> 503 응답
+public class ExternalApiException extends RuntimeException {
+
+    public ExternalApiException(String message) {
+        super(message);
+    }
+
+    public ExternalApiException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.todo.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 @Slf4j
 // RestController에서 발생되는 예외를 전역적으로 처리할 수 있게 하는 아노테이션
@@ -30,6 +32,49 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(e.getMessage());
     }
 
+    @ExceptionHandler(TodoNotFoundException.class)
+    public ResponseEntity<?> handleTodoNotFoundException(TodoNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    @ExceptionHandler(ExternalApiException.class)
+    public ResponseEntity<?> handleExternalApiException(ExternalApiException e) {
+        log.warn("외부 API 호출 실패 - {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+
+    @ExceptionHandler(KakaoClientException.class)
+    public ResponseEntity<?> handleKakaoClientException(KakaoClientException e) {
+        log.info("카카오 API 요청 거절 - {}", e.getMessage());
+        return ResponseEntity.status(e.getStatus()).body(e.getMessage());
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<?> handleTooManyRequestsException(TooManyRequestsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<?> handleServiceUnavailableException(ServiceUnavailableException e) {
+        log.warn("요청 처리 불가 - {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+
+    @ExceptionHandler({UploadTooLargeException.class, MaxUploadSizeExceededException.class})
+    public ResponseEntity<?> handleUploadTooLargeException(Exception e) {
+        log.warn("업로드 크기 제한 초과 - {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body("업로드 가능한 파일 크기를 초과했습니다");
+    }
+
+    @ExceptionHandler(UnsupportedImageException.class)
+    public ResponseEntity<?> handleUnsupportedImageException(UnsupportedImageException e) {
+        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(e.getMessage());
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<?> handleRuntimeException(IllegalArgumentException e) {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
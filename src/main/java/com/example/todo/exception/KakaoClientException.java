@@ -0,0 +1,17 @@
+package com.example.todo.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+// 카카오 API가 요청 자체의 문제로 거절한 경우 발생 (잘못되었거나 이미 사용한 인가 코드, 만료된 토큰 등)
+// 카카오 서버 장애가 아니므로 503이 아닌 400(잘못된 요청) 또는 401(인증 실패) 응답
+public class KakaoClientException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public KakaoClientException(String message, HttpStatus status, Throwable cause) {
+        super(message, cause);
+        this.status = status;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.todo.exception;
+
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+// 서버 내부 자원(DB 기록 대기열 등)이 가득 차서 지금은 요청을 처리할 수 없는 경우 발생 -> 503 응답
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.todo.exception;
+
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+// 요청한 할 일이 없거나, 요청한 회원이 작성한 할 일이 아닌 경우 발생 -> 404 응답
+public class TodoNotFoundException extends RuntimeException {
+
+    public TodoNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.todo.exception;
+
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+// 서버가 처리할 수 있는 양보다 요청이 많아서 바로 거절하는 경우 발생 -> 429 응답
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
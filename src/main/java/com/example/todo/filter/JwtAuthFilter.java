@@ -1,7 +1,7 @@
 package com.example.todo.filter;
 
-import com.example.todo.auth.TokenProvider;
 import com.example.todo.auth.TokenUserInfo;
+import com.example.todo.auth.VerifiedTokenCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,7 +14,6 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -27,15 +26,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-    private final TokenProvider tokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    private List<String> permitAllPatterns;
-
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
-
-    public void setPermitAllPatterns(List<String> permitAllPatterns) {
-        this.permitAllPatterns = permitAllPatterns;
-    }
+    // yml에서 가져온 허용 url 패턴 (시작 시 컴파일되어 있음)
+    private final PermitAllMatcher permitAllMatcher;
 
     // 필터가 해야 할 작업을 기술
     @Override
@@ -47,11 +41,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String token = parseBearerToken(request);
         log.info("JWT Token Filter is running... - token : {}", token);
 
-        String requestURI = request.getRequestURI();
-        boolean isPermitAllrl = permitAllPatterns.stream()
-                .anyMatch(pattern -> pathMatcher.match(pattern, requestURI));
-
-        if (isPermitAllrl && !requestURI.contains("load-profile")) {
+        if (permitAllMatcher.matches(request)) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -59,7 +49,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         // 토큰 위조 검사 및 인증 완료 처리
         if (token != null && !token.equals("null")) {
             // 토큰 서명 위조 검사와 토큰을 파싱해서 클레임을 얻어내는 작업
-            TokenUserInfo tokenUserInfo = tokenProvider.validateAndGetTokenUserInfo(token);
+            // 이미 검증된 적 있는 토큰이라면 캐시에 저장된 유저 정보를 바로 사용
+            TokenUserInfo tokenUserInfo = verifiedTokenCache.resolve(token);
 
             // 인가 정보 리스트를 생성해서 spring security에 전달
             // 권한이 여러 개 존재할 경우 리스트로 권한 체크에 사용할 필드를 add
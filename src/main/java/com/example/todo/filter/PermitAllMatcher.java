@@ -0,0 +1,63 @@
+package com.example.todo.filter;
+
+import com.example.todo.config.RequestProperies;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+@Component
+@Slf4j
+// 역할 : 인증 없이 허용하는 요청인지 판단 (JwtAuthFilter와 WebSecurityConfig가 함께 사용)
+// yml의 허용 url 패턴(request.permit-all-patterns)을 서버 시작 시 한 번만 PathPattern으로 컴파일해 두고,
+// 요청마다 패턴 문자열을 다시 해석하지 않는다 (AntPathMatcher는 매번 패턴을 토큰으로 나눠서 비교)
+public class PermitAllMatcher implements RequestMatcher {
+
+    // 허용 패턴에 포함되지만 인증이 필요한 요청
+    private static final List<String> AUTHENTICATED_PATTERNS = List.of("/api/auth/load-profile");
+
+    private final List<PathPattern> permitAllPatterns;
+    private final List<PathPattern> authenticatedPatterns;
+
+    @Autowired
+    public PermitAllMatcher(RequestProperies properies) {
+        this(properies.getPermitAllPatterns() == null ? List.of() : properies.getPermitAllPatterns());
+    }
+
+    // 벤치마크 등에서 패턴 목록으로 바로 생성
+    public PermitAllMatcher(List<String> permitAllPatterns) {
+        this.permitAllPatterns = compile(permitAllPatterns);
+        this.authenticatedPatterns = compile(AUTHENTICATED_PATTERNS);
+        log.info("인증 없이 허용하는 url 패턴 : {}", permitAllPatterns);
+    }
+
+    private static List<PathPattern> compile(List<String> patterns) {
+        return patterns.stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        return matches(request.getRequestURI());
+    }
+
+    public boolean matches(String requestURI) {
+        PathContainer path = PathContainer.parsePath(requestURI);
+        return anyMatch(permitAllPatterns, path) && !anyMatch(authenticatedPatterns, path);
+    }
+
+    private static boolean anyMatch(List<PathPattern> patterns, PathContainer path) {
+        // 요청마다 실행되므로 stream 대신 반복문 사용
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) return true;
+        }
+        return false;
+    }
+}
@@ -3,16 +3,25 @@ package com.example.todo.todoapi.api;
 import com.example.todo.auth.TokenUserInfo;
 import com.example.todo.todoapi.dto.request.TodoCreateRequestDTO;
 import com.example.todo.todoapi.dto.request.TodoModifyRequestDTO;
+import com.example.todo.todoapi.dto.response.TodoBatchResponseDTO;
+import com.example.todo.todoapi.dto.response.TodoDeltaResponseDTO;
 import com.example.todo.todoapi.dto.response.TodoListResponseDTO;
+import com.example.todo.todoapi.event.TodoEventHub;
+import com.example.todo.todoapi.service.TodoBatchService;
 import com.example.todo.todoapi.service.TodoService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -23,6 +32,14 @@ import java.util.List;
 public class TodoController {
 
     private final TodoService todoService;
+    private final TodoBatchService todoBatchService;
+    private final TodoEventHub todoEventHub;
+
+    // 등록, 수정, 삭제 요청의 응답 형식을 지정하는 헤더와 파라미터 값
+    // delta : 변경된 할 일 하나만 응답, 그 외(기본값) : 기존처럼 전체 목록 응답
+    private static final String RESPONSE_MODE_HEADER = "X-Response-Mode";
+    private static final String DELTA_MODE = "delta";
+    private static final String EXPORT_MODE = "export";
 
     // 할 일 등록 요청
     @PostMapping
@@ -31,7 +48,9 @@ public class TodoController {
             // @AuthenticationPrincipal를 통해 토큰에 인증된 사용자 정보를 불러올 수 있다
             @AuthenticationPrincipal TokenUserInfo userInfo,
             @Validated @RequestBody TodoCreateRequestDTO requestDTO,
-            BindingResult result
+            BindingResult result,
+            @RequestParam(value = "mode", required = false) String mode,
+            @RequestHeader(value = RESPONSE_MODE_HEADER, required = false) String modeHeader
     ) {
         log.info("/api/todos GET - dto : {}", requestDTO);
         log.info("TokenUserInfo : {}", userInfo);
@@ -39,20 +58,54 @@ public class TodoController {
         ResponseEntity<List<FieldError>> validatedResult = getValidatedResult(result);
         if (validatedResult != null) return validatedResult;
 
+        if (isDeltaMode(mode, modeHeader)) {
+            return toDeltaResponse(todoService.createDelta(requestDTO, userInfo.getUserId()));
+        }
+
         TodoListResponseDTO responseDTO = todoService.create(requestDTO, userInfo.getUserId());
 
         return ResponseEntity.ok().body(responseDTO);
     }
 
     // 할 일 목록 요청
+    // GET : /api/todos -> 전체 목록
+    // GET : /api/todos?size=20&cursor=xxx -> 커서 기반 페이지 (응답의 nextCursor를 다음 요청의 cursor로 전달)
+    // GET : /api/todos?mode=export -> 전체 목록을 메모리에 모으지 않고 스트리밍으로 응답 (대용량 내보내기)
     @GetMapping
     public ResponseEntity<?> retrieveTodoList(
-            @AuthenticationPrincipal TokenUserInfo userInfo
+            @AuthenticationPrincipal TokenUserInfo userInfo,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "mode", required = false) String mode,
+            WebRequest webRequest
     ) {
-        log.info("/api/todos GET request!");
+        log.info("/api/todos GET request! - cursor : {}, size : {}, mode : {}", cursor, size, mode);
+
+        if (EXPORT_MODE.equalsIgnoreCase(mode)) {
+            String userId = userInfo.getUserId();
+            // 응답 바디는 별도의 스레드에서 출력 스트림에 바로 기록된다
+            StreamingResponseBody body = out -> todoService.exportTo(userId, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body);
+        }
 
-        TodoListResponseDTO responseDTO = todoService.retrieve(userInfo.getUserId());
-        return ResponseEntity.ok().body(responseDTO);
+        // 조건부 요청 : 클라이언트가 보낸 If-None-Match가 현재 목록 버전과 같다면
+        // 목록을 조회하지 않고 304(Not Modified)를 응답
+        String eTag = todoService.getListETag(userInfo.getUserId(), cursor, size);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        TodoListResponseDTO responseDTO = (cursor != null || size != null)
+                ? todoService.retrievePage(userInfo.getUserId(), cursor, size)
+                : todoService.retrieve(userInfo.getUserId());
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                // 브라우저가 응답을 저장하되 사용할 때마다 서버에 ETag로 확인하도록 설정
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(responseDTO);
 
     }
 
@@ -60,7 +113,9 @@ public class TodoController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteTodo(
             @AuthenticationPrincipal TokenUserInfo userInfo,
-            @PathVariable("id") String todoId) {
+            @PathVariable("id") String todoId,
+            @RequestParam(value = "mode", required = false) String mode,
+            @RequestHeader(value = RESPONSE_MODE_HEADER, required = false) String modeHeader) {
         log.info("/api/todos/{} DELETE request", todoId);
 
         if (todoId == null || todoId.trim().equals("")) {
@@ -68,6 +123,10 @@ public class TodoController {
                     .body("ID를 전달해주세요");
         }
 
+        if (isDeltaMode(mode, modeHeader)) {
+            return toDeltaResponse(todoService.deleteDelta(todoId, userInfo.getUserId()));
+        }
+
         TodoListResponseDTO responseDTO = todoService.delete(todoId, userInfo.getUserId());
         return ResponseEntity.ok().body(responseDTO);
 
@@ -78,13 +137,78 @@ public class TodoController {
     public ResponseEntity<?> updateTodo(
             @AuthenticationPrincipal TokenUserInfo userInfo,
             @Validated @RequestBody
-            TodoModifyRequestDTO requestDTO, BindingResult result) {
+            TodoModifyRequestDTO requestDTO, BindingResult result,
+            @RequestParam(value = "mode", required = false) String mode,
+            @RequestHeader(value = RESPONSE_MODE_HEADER, required = false) String modeHeader) {
         ResponseEntity<List<FieldError>> validatedResult = getValidatedResult(result);
         if (validatedResult != null) return validatedResult;
 
+        if (isDeltaMode(mode, modeHeader)) {
+            return toDeltaResponse(todoService.updateDelta(requestDTO, userInfo.getUserId()));
+        }
+
         return ResponseEntity.ok().body(todoService.update(requestDTO, userInfo.getUserId()));
     }
 
+    // 할 일 변경 알림 구독 (Server-Sent Events)
+    // GET : /api/todos/stream -> 같은 회원의 할 일이 등록, 수정, 삭제될 때마다 todo 이벤트를 전달
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeTodoEvents(
+            @AuthenticationPrincipal TokenUserInfo userInfo) {
+        log.info("/api/todos/stream GET request! - user : {}", userInfo.getEmail());
+
+        return todoEventHub.subscribe(userInfo.getUserId(),
+                todoService.getListETag(userInfo.getUserId(), null, null));
+    }
+
+    // 할 일 일괄 등록
+    // POST : /api/todos/batch  body : [{"title": "..."}, ...]
+    @PostMapping("/batch")
+    public ResponseEntity<?> createTodos(
+            @AuthenticationPrincipal TokenUserInfo userInfo,
+            @RequestBody List<TodoCreateRequestDTO> requestDTOs) {
+        log.info("/api/todos/batch POST request! - {}건", requestDTOs.size());
+
+        TodoBatchResponseDTO responseDTO = todoBatchService.createAll(requestDTOs, userInfo.getUserId());
+        return ResponseEntity.ok().eTag(responseDTO.getVersion()).body(responseDTO);
+    }
+
+    // 할 일 일괄 수정
+    // PATCH : /api/todos/batch  body : [{"id": "...", "done": true}, ...]
+    @PatchMapping("/batch")
+    public ResponseEntity<?> updateTodos(
+            @AuthenticationPrincipal TokenUserInfo userInfo,
+            @RequestBody List<TodoModifyRequestDTO> requestDTOs) {
+        log.info("/api/todos/batch PATCH request! - {}건", requestDTOs.size());
+
+        TodoBatchResponseDTO responseDTO = todoBatchService.updateAll(requestDTOs, userInfo.getUserId());
+        return ResponseEntity.ok().eTag(responseDTO.getVersion()).body(responseDTO);
+    }
+
+    // 할 일 일괄 삭제
+    // DELETE : /api/todos/batch  body : ["id1", "id2", ...]
+    @DeleteMapping("/batch")
+    public ResponseEntity<?> deleteTodos(
+            @AuthenticationPrincipal TokenUserInfo userInfo,
+            @RequestBody List<String> todoIds) {
+        log.info("/api/todos/batch DELETE request! - {}건", todoIds.size());
+
+        TodoBatchResponseDTO responseDTO = todoBatchService.deleteAll(todoIds, userInfo.getUserId());
+        return ResponseEntity.ok().eTag(responseDTO.getVersion()).body(responseDTO);
+    }
+
+    // 파라미터 또는 헤더로 delta 응답을 요청했는지 확인
+    private static boolean isDeltaMode(String mode, String modeHeader) {
+        return DELTA_MODE.equalsIgnoreCase(mode) || DELTA_MODE.equalsIgnoreCase(modeHeader);
+    }
+
+    // 변경된 할 일과 함께 변경 후 목록 버전을 ETag 헤더로 전달
+    private static ResponseEntity<TodoDeltaResponseDTO> toDeltaResponse(TodoDeltaResponseDTO deltaDTO) {
+        return ResponseEntity.ok()
+                .eTag(deltaDTO.getVersion())
+                .body(deltaDTO);
+    }
+
     // 입력값 검증(Validation)의 결과를 처리해 주는 전역 메서드
     private static ResponseEntity<List<FieldError>> getValidatedResult(BindingResult result) {
         if (result.hasErrors()) { // 입력값 검증 단계에서 문제가 있었다면 true
@@ -0,0 +1,46 @@
+package com.example.todo.todoapi.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Builder
+// 일괄 처리 요청에서 항목 하나의 처리 결과
+public class TodoBatchItemResultDTO {
+
+    private int index;  // 요청 배열에서의 위치
+    private String id;  // 처리된 할 일의 id
+    private boolean success;    // 처리 성공 여부
+    private String message; // 실패 시 사유
+    private TodoDetailResponseDTO todo; // 처리 후 할 일 정보 (삭제, 실패 시 null)
+
+    public static TodoBatchItemResultDTO success(int index, TodoDetailResponseDTO todo) {
+        return TodoBatchItemResultDTO.builder()
+                .index(index)
+                .id(todo.getId())
+                .success(true)
+                .todo(todo)
+                .build();
+    }
+
+    public static TodoBatchItemResultDTO deleted(int index, String id) {
+        return TodoBatchItemResultDTO.builder()
+                .index(index)
+                .id(id)
+                .success(true)
+                .build();
+    }
+
+    public static TodoBatchItemResultDTO fail(int index, String id, String message) {
+        return TodoBatchItemResultDTO.builder()
+                .index(index)
+                .id(id)
+                .success(false)
+                .message(message)
+                .build();
+    }
+}
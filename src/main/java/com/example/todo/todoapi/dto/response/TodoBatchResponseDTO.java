@@ -0,0 +1,31 @@
+package com.example.todo.todoapi.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Builder
+// 일괄 등록, 수정, 삭제 요청의 응답 DTO
+public class TodoBatchResponseDTO {
+
+    private int succeeded;  // 성공한 항목 수
+    private int failed; // 실패한 항목 수
+    private List<TodoBatchItemResultDTO> results;   // 요청 순서대로 정렬된 항목별 결과
+    private String version; // 처리 후 목록 버전 (ETag와 같은 값)
+
+    public static TodoBatchResponseDTO of(List<TodoBatchItemResultDTO> results, String version) {
+        int succeeded = (int) results.stream().filter(TodoBatchItemResultDTO::isSuccess).count();
+        return TodoBatchResponseDTO.builder()
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .version(version)
+                .build();
+    }
+}
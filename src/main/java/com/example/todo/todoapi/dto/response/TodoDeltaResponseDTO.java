@@ -0,0 +1,23 @@
+package com.example.todo.todoapi.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Builder
+// 등록, 수정, 삭제 요청 시 전체 목록 대신 변경된 할 일 하나만 돌려주기 위한 DTO
+public class TodoDeltaResponseDTO {
+
+    private TodoAction action;  // 어떤 변경이 일어났는지
+    private String id;  // 변경된 할 일의 id
+    private TodoDetailResponseDTO todo; // 변경된 할 일 (삭제된 경우 null)
+    private String version; // 변경이 반영된 목록의 버전 (ETag와 같은 값)
+
+    public enum TodoAction {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -17,4 +17,7 @@ public class TodoListResponseDTO {
     private String error;   // 에러 발생 시 에러 메세지를 담을 필드
     private List<TodoDetailResponseDTO> todos;  // 할 일 목록들
 
+    private String nextCursor;  // 다음 페이지를 요청할 때 전달할 커서 (마지막 페이지라면 null)
+    private boolean hasMore;    // 다음 페이지가 존재하는지 여부
+
 }
@@ -15,10 +15,14 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "tbl_todo")
+// 회원별 목록을 등록 시간 순으로 커서 페이징하기 위한 복합 인덱스 (user_id, create_date, todo_id)
+@Table(name = "tbl_todo", indexes = {
+        @Index(name = "idx_todo_user_create_date", columnList = "user_id, create_date, todo_id")
+})
 public class Todo {
 
     @Id
+    @Column(name = "todo_id")
     @GeneratedValue(strategy = GenerationType.UUID)
     private String todoId;
 
@@ -28,6 +32,7 @@ public class Todo {
     private boolean done;   // 할 일 완료 여부
 
     @CreationTimestamp
+    @Column(name = "create_date")
     private LocalDateTime createDate; // 등록 시간
 
     @ManyToOne(fetch = FetchType.LAZY)
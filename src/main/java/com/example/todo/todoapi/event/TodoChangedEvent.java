@@ -0,0 +1,17 @@
+package com.example.todo.todoapi.event;
+
+import com.example.todo.todoapi.dto.response.TodoDeltaResponseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+// 할 일이 등록, 수정, 삭제되었을 때 TodoService가 발행하는 이벤트
+// 트랜잭션이 커밋된 후 TodoEventHub가 같은 회원의 SSE 연결들로 전달한다
+public class TodoChangedEvent {
+
+    private final String userId;    // 할 일을 변경한 회원 id
+    private final TodoDeltaResponseDTO delta;   // 변경 내용 (수정 이벤트의 todo에는 id와 done만 담긴다)
+}
@@ -0,0 +1,226 @@
+package com.example.todo.todoapi.event;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+// 역할 : 할 일 변경 이벤트를 같은 회원의 모든 SSE 연결로 전달 (GET /api/todos/stream)
+// 클라이언트가 목록을 주기적으로 다시 조회(polling)하지 않아도 변경 내용을 받을 수 있다
+//
+// - 이벤트 발행 스레드(요청 스레드)는 각 연결의 버퍼에 이벤트를 넣기만 하고 바로 리턴한다
+// - 실제 전송은 크기가 제한된 전용 스레드 풀에서 수행한다
+// - 연결마다 버퍼 크기가 제한되어 있어서, 느린 클라이언트의 버퍼가 가득 차면 가장 오래된 이벤트를 버린다
+// - 연결마다 전송 작업은 동시에 하나만 실행되므로 느린 연결 하나가 여러 스레드를 점유하지 않는다
+public class TodoEventHub {
+
+    private static final String EVENT_NAME = "todo";
+
+    // 하트비트 : 프록시가 유휴 연결을 끊지 않도록 하고, 끊어진 연결을 찾아내기 위해 주기적으로 보내는 주석
+    private static final Object HEARTBEAT = new Object();
+
+    private final Map<String, Queue<SseConnection>> connections = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor fanOutExecutor;
+
+    private final long emitterTimeoutMillis;
+    private final int bufferSize;
+    private final int maxConnectionsPerUser;
+
+    public TodoEventHub(@Value("${todo.sse.threads:4}") int threads,
+                        @Value("${todo.sse.queue-capacity:1000}") int queueCapacity,
+                        @Value("${todo.sse.timeout-ms:1800000}") long emitterTimeoutMillis,
+                        @Value("${todo.sse.buffer-size:100}") int bufferSize,
+                        @Value("${todo.sse.max-connections-per-user:5}") int maxConnectionsPerUser) {
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.bufferSize = bufferSize;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.fanOutExecutor = new ThreadPoolExecutor(
+                threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "todo-sse-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // 작업 큐가 가득 차면 예외를 던지고, 이벤트는 연결 버퍼에 남겨 두었다가 다음 기회에 전송
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * 회원의 새로운 SSE 연결 등록
+     *
+     * @param userId - 로그인 한 회원 id
+     * @param version - 연결 시점의 목록 버전 (첫 이벤트로 전달)
+     * @return - 컨트롤러가 리턴할 SseEmitter
+     */
+    public SseEmitter subscribe(String userId, String version) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        SseConnection connection = new SseConnection(userId, emitter);
+
+        Queue<SseConnection> userConnections =
+                connections.computeIfAbsent(userId, id -> new ConcurrentLinkedQueue<>());
+        userConnections.add(connection);
+
+        // 회원당 연결 수 제한 : 초과하면 가장 오래된 연결을 종료
+        while (userConnections.size() > maxConnectionsPerUser) {
+            SseConnection oldest = userConnections.poll();
+            if (oldest == null) break;
+            oldest.emitter.complete();
+        }
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+
+        // 연결 직후 현재 목록 버전을 전달 -> 클라이언트는 버전이 다르면 목록을 다시 조회
+        connection.offer(SseEmitter.event().name("connected").data(Map.of("version", version)));
+        schedule(connection);
+
+        log.info("SSE 연결 등록 - user : {}, 연결 수 : {}", userId, userConnections.size());
+        return emitter;
+    }
+
+    // 트랜잭션이 커밋된 후에 전달 (롤백된 변경은 전달하지 않음)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        Queue<SseConnection> userConnections = connections.get(event.getUserId());
+        if (userConnections == null || userConnections.isEmpty()) return;
+
+        for (SseConnection connection : userConnections) {
+            connection.offer(SseEmitter.event()
+                    .id(event.getDelta().getVersion())
+                    .name(EVENT_NAME)
+                    .data(event.getDelta()));
+            schedule(connection);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todo.sse.heartbeat-ms:30000}")
+    public void heartbeat() {
+        connections.values().forEach(userConnections ->
+                userConnections.forEach(connection -> {
+                    connection.offer(HEARTBEAT);
+                    schedule(connection);
+                }));
+    }
+
+    // 연결의 전송 작업을 스레드 풀에 등록 (이미 등록되어 있다면 생략)
+    private void schedule(SseConnection connection) {
+        if (!connection.scheduled.compareAndSet(false, true)) return;
+        try {
+            fanOutExecutor.execute(() -> drain(connection));
+        } catch (RejectedExecutionException e) {
+            // 스레드 풀이 포화 상태 -> 이벤트는 버퍼에 남아 있고 다음 이벤트나 하트비트 때 다시 시도
+            connection.scheduled.set(false);
+            log.warn("SSE 전송 작업 큐가 가득 찼습니다 - user : {}", connection.userId);
+        }
+    }
+
+    // 연결 버퍼에 쌓인 이벤트를 순서대로 전송
+    private void drain(SseConnection connection) {
+        try {
+            Object event;
+            while ((event = connection.poll()) != null) {
+                if (event == HEARTBEAT) {
+                    connection.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    connection.emitter.send((SseEmitter.SseEventBuilder) event);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 연결을 끊었거나 이미 종료된 연결
+            log.debug("SSE 전송 실패, 연결 종료 - user : {}", connection.userId);
+            remove(connection);
+            connection.emitter.completeWithError(e);
+            return;
+        } finally {
+            connection.scheduled.set(false);
+        }
+        // 전송하는 동안 새로 들어온 이벤트가 있다면 다시 등록
+        if (connection.hasPending()) {
+            schedule(connection);
+        }
+    }
+
+    private void remove(SseConnection connection) {
+        connections.computeIfPresent(connection.userId, (id, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOutExecutor.shutdownNow();
+        connections.values().forEach(userConnections ->
+                userConnections.forEach(connection -> connection.emitter.complete()));
+        connections.clear();
+    }
+
+    // SSE 연결 하나와 전송 대기중인 이벤트 버퍼
+    private class SseConnection {
+
+        private final String userId;
+        private final SseEmitter emitter;
+        private final Deque<Object> buffer = new ArrayDeque<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        SseConnection(String userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        // 버퍼에 이벤트 추가 (가득 찼다면 가장 오래된 이벤트를 버림)
+        void offer(Object event) {
+            lock.lock();
+            try {
+                if (event == HEARTBEAT && HEARTBEAT == buffer.peekLast()) return;
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    log.debug("SSE 버퍼가 가득 차서 오래된 이벤트를 버립니다 - user : {}", userId);
+                }
+                buffer.offerLast(event);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Object poll() {
+            lock.lock();
+            try {
+                return buffer.pollFirst();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean hasPending() {
+            lock.lock();
+            try {
+                return !buffer.isEmpty();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -1,12 +1,22 @@
 package com.example.todo.todoapi.repository;
 
+import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
 import com.example.todo.todoapi.entity.Todo;
 import com.example.todo.userapi.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TodoRepository extends JpaRepository<Todo, String> {
 
@@ -16,6 +26,69 @@ public interface TodoRepository extends JpaRepository<Todo, String> {
     @Query("SELECT t FROM Todo t WHERE t.user = :user")
     List<Todo> findAllByUser(@Param("user") User user);
 
+    // 특정 회원의 할 일 목록을 엔터티가 아닌 DTO로 바로 조회 (조회 전용)
+    // 필요한 컬럼(todo_id, title, done)만 SELECT 하고, 영속성 컨텍스트에 엔터티와 스냅샷을 만들지 않는다
+    // native : SELECT todo_id, title, done FROM tbl_todo WHERE user_id = ? ORDER BY create_date, todo_id;
+    @Query("SELECT new com.example.todo.todoapi.dto.response.TodoDetailResponseDTO(t.todoId, t.title, t.done)" +
+            " FROM Todo t WHERE t.user.id = :userId ORDER BY t.createDate ASC, t.todoId ASC")
+    List<TodoDetailResponseDTO> findDetailsByUserId(@Param("userId") String userId);
+
+    // 특정 회원의 할 일 목록을 DTO 스트림으로 조회 (대용량 목록 내보내기용)
+    // 결과를 한 번에 메모리에 올리지 않고 fetch size 단위로 DB에서 가져온다
+    // MySQL에서 서버 커서로 나눠서 가져오려면 useCursorFetch=true 옵션이 필요하다
+    // (없으면 드라이버가 fetch size를 무시하고 결과 전체를 메모리에 올린다 -> MySqlCursorFetchConfig에서 항상 설정)
+    // 스트림은 트랜잭션 안에서 사용하고 반드시 닫아야 한다
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.todo.todoapi.dto.response.TodoDetailResponseDTO(t.todoId, t.title, t.done)" +
+            " FROM Todo t WHERE t.user.id = :userId ORDER BY t.createDate ASC, t.todoId ASC")
+    Stream<TodoDetailResponseDTO> streamDetailsByUserId(@Param("userId") String userId);
+
+    // 할 일 하나를 DTO로 바로 조회
+    @Query("SELECT new com.example.todo.todoapi.dto.response.TodoDetailResponseDTO(t.todoId, t.title, t.done)" +
+            " FROM Todo t WHERE t.todoId = :todoId")
+    Optional<TodoDetailResponseDTO> findDetailById(@Param("todoId") String todoId);
+
+    // 커서 페이징 : 첫 페이지 (등록 시간, id 순으로 limit 개수만큼)
+    // native : SELECT * FROM tbl_todo WHERE user_id = ? ORDER BY create_date, todo_id LIMIT ?;
+    // 조회한 엔터티는 수정하지 않으므로 읽기 전용으로 로드 (변경 감지용 스냅샷을 만들지 않음)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT t FROM Todo t WHERE t.user = :user ORDER BY t.createDate ASC, t.todoId ASC")
+    List<Todo> findFirstPageByUser(@Param("user") User user, Limit limit);
+
+    // 커서 페이징 : 커서(마지막으로 받은 할 일의 등록 시간, id) 다음부터 limit 개수만큼
+    // OFFSET을 쓰지 않고 (user_id, create_date, todo_id) 인덱스를 바로 탐색하므로 페이지가 깊어져도 비용이 같다
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT t FROM Todo t WHERE t.user = :user" +
+            " AND (t.createDate > :createDate OR (t.createDate = :createDate AND t.todoId > :todoId))" +
+            " ORDER BY t.createDate ASC, t.todoId ASC")
+    List<Todo> findPageByUserAfter(@Param("user") User user,
+                                   @Param("createDate") LocalDateTime createDate,
+                                   @Param("todoId") String todoId,
+                                   Limit limit);
+
+    // 해당 회원이 작성한 할 일의 완료 여부를 한 번의 UPDATE로 변경하고 변경된 행 수를 리턴
+    // native : UPDATE tbl_todo SET done = ? WHERE todo_id = ? AND user_id = ?;
+    @Modifying
+    @Query("UPDATE Todo t SET t.done = :done WHERE t.todoId = :todoId AND t.user.id = :userId")
+    int updateDoneByIdAndUserId(@Param("todoId") String todoId,
+                                @Param("userId") String userId,
+                                @Param("done") boolean done);
+
+    // 해당 회원이 작성한 할 일을 한 번의 DELETE로 삭제하고 삭제된 행 수를 리턴
+    // native : DELETE FROM tbl_todo WHERE todo_id = ? AND user_id = ?;
+    @Modifying
+    @Query("DELETE FROM Todo t WHERE t.todoId = :todoId AND t.user.id = :userId")
+    int deleteByIdAndUserId(@Param("todoId") String todoId, @Param("userId") String userId);
+
+    // 전달받은 id 중 해당 회원이 작성한 할 일의 id만 리턴
+    @Query("SELECT t.todoId FROM Todo t WHERE t.todoId IN :ids AND t.user.id = :userId")
+    List<String> findOwnedIds(@Param("ids") Collection<String> ids, @Param("userId") String userId);
+
+    // 해당 회원이 작성한 할 일들을 한 번의 DELETE로 삭제하고 삭제된 행 수를 리턴
+    @Modifying
+    @Query("DELETE FROM Todo t WHERE t.todoId IN :ids AND t.user.id = :userId")
+    int deleteOwnedByIds(@Param("ids") Collection<String> ids, @Param("userId") String userId);
+
     // 회원이 작성한 일정의 개수를 리턴
     @Query("SELECT COUNT(*) FROM Todo t WHERE t.user = :user")
     int countByUser(@Param("user") User user);
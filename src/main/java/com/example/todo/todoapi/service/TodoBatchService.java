@@ -0,0 +1,197 @@
+package com.example.todo.todoapi.service;
+
+import com.example.todo.todoapi.dto.request.TodoCreateRequestDTO;
+import com.example.todo.todoapi.dto.request.TodoModifyRequestDTO;
+import com.example.todo.todoapi.dto.response.TodoBatchItemResultDTO;
+import com.example.todo.todoapi.dto.response.TodoBatchResponseDTO;
+import com.example.todo.todoapi.dto.response.TodoDeltaResponseDTO;
+import com.example.todo.todoapi.dto.response.TodoDeltaResponseDTO.TodoAction;
+import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
+import com.example.todo.todoapi.entity.Todo;
+import com.example.todo.todoapi.event.TodoChangedEvent;
+import com.example.todo.todoapi.repository.TodoRepository;
+import com.example.todo.userapi.entity.Role;
+import com.example.todo.userapi.entity.User;
+import com.example.todo.userapi.service.UserLookupService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+// 역할 : 여러 건의 할 일 등록, 수정, 삭제를 하나의 트랜잭션에서 처리
+// 오프라인에서 편집한 내용을 동기화하는 클라이언트가 항목마다 요청을 보내지 않도록 한다
+// 항목별로 실패 사유를 응답하며, 실패한 항목이 있어도 나머지 항목은 반영된다
+public class TodoBatchService {
+
+    // 한 번에 처리할 수 있는 최대 항목 수
+    private static final int MAX_BATCH_SIZE = 100;
+
+    private final TodoRepository todoRepository;
+    private final UserLookupService userLookupService;
+    private final TodoCountManager todoCountManager;
+    private final TodoVersionTracker versionTracker;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 일괄 등록
+    public TodoBatchResponseDTO createAll(
+            final List<TodoCreateRequestDTO> requestDTOs, final String userId) {
+        checkBatchSize(requestDTOs);
+        User user = userLookupService.findById(userId).orElseThrow(
+                () -> new RuntimeException("회원 정보가 없습니다")
+        );
+
+        TodoBatchItemResultDTO[] results = new TodoBatchItemResultDTO[requestDTOs.size()];
+        List<Todo> toSave = new ArrayList<>();
+        List<Integer> savedIndexes = new ArrayList<>();
+
+        for (int i = 0; i < requestDTOs.size(); i++) {
+            TodoCreateRequestDTO dto = requestDTOs.get(i);
+            String invalid = validate(dto);
+            if (invalid != null) {
+                results[i] = TodoBatchItemResultDTO.fail(i, null, invalid);
+                continue;
+            }
+            // 일반 회원은 항목마다 등록 제한을 검사 (최대 5개이므로 쿼리 수가 많지 않다)
+            if (user.getRole() == Role.COMMON && !todoCountManager.tryReserve(userId)) {
+                results[i] = TodoBatchItemResultDTO.fail(i, null, "일반 회원은 더 이상 일정을 등록할 수 없습니다");
+                continue;
+            }
+            toSave.add(dto.toEntity(user));
+            savedIndexes.add(i);
+        }
+
+        // 등록 제한이 없는 회원은 카운터를 한 번에 증가
+        if (user.getRole() != Role.COMMON) {
+            todoCountManager.add(userId, toSave.size());
+        }
+
+        // id가 UUID이므로 INSERT가 flush 시점에 batch로 묶여서 전송된다
+        List<Todo> saved = todoRepository.saveAll(toSave);
+        for (int i = 0; i < saved.size(); i++) {
+            int index = savedIndexes.get(i);
+            results[index] = TodoBatchItemResultDTO.success(index, new TodoDetailResponseDTO(saved.get(i)));
+        }
+        log.info("할 일 일괄 등록 - 요청 {}건, 저장 {}건", requestDTOs.size(), saved.size());
+
+        return toResponse(results, userId, TodoAction.CREATED);
+    }
+
+    // 일괄 수정 (완료 여부 변경)
+    public TodoBatchResponseDTO updateAll(
+            final List<TodoModifyRequestDTO> requestDTOs, final String userId) {
+        checkBatchSize(requestDTOs);
+
+        // 요청된 할 일들을 한 번의 SELECT ... IN 으로 조회
+        Set<String> ids = requestDTOs.stream()
+                .map(TodoModifyRequestDTO::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Todo> owned = todoRepository.findAllById(ids).stream()
+                .filter(todo -> userId.equals(todo.getUser().getId()))
+                .collect(Collectors.toMap(Todo::getTodoId, Function.identity()));
+
+        TodoBatchItemResultDTO[] results = new TodoBatchItemResultDTO[requestDTOs.size()];
+        for (int i = 0; i < requestDTOs.size(); i++) {
+            TodoModifyRequestDTO dto = requestDTOs.get(i);
+            String invalid = validate(dto);
+            if (invalid != null) {
+                results[i] = TodoBatchItemResultDTO.fail(i, dto.getId(), invalid);
+                continue;
+            }
+            Todo todo = owned.get(dto.getId());
+            if (todo == null) {
+                results[i] = TodoBatchItemResultDTO.fail(i, dto.getId(), "존재하지 않는 할 일입니다");
+                continue;
+            }
+            // 변경 감지로 커밋 시점에 UPDATE가 batch로 묶여서 전송된다
+            todo.setDone(dto.isDone());
+            results[i] = TodoBatchItemResultDTO.success(i, new TodoDetailResponseDTO(todo));
+        }
+
+        return toResponse(results, userId, TodoAction.UPDATED);
+    }
+
+    // 일괄 삭제
+    public TodoBatchResponseDTO deleteAll(
+            final List<String> todoIds, final String userId) {
+        checkBatchSize(todoIds);
+
+        Set<String> ids = todoIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> owned = ids.isEmpty()
+                ? Set.of()
+                : new HashSet<>(todoRepository.findOwnedIds(ids, userId));
+
+        int deleted = owned.isEmpty() ? 0 : todoRepository.deleteOwnedByIds(owned, userId);
+        todoCountManager.release(userId, deleted);
+
+        List<TodoBatchItemResultDTO> results = new ArrayList<>(todoIds.size());
+        Set<String> reported = new HashSet<>();
+        for (int i = 0; i < todoIds.size(); i++) {
+            String id = todoIds.get(i);
+            // 같은 id가 여러 번 전달된 경우 처음 항목만 성공으로 처리
+            if (id != null && owned.contains(id) && reported.add(id)) {
+                results.add(TodoBatchItemResultDTO.deleted(i, id));
+            } else {
+                results.add(TodoBatchItemResultDTO.fail(i, id, "존재하지 않는 할 일입니다"));
+            }
+        }
+        log.info("할 일 일괄 삭제 - 요청 {}건, 삭제 {}건", todoIds.size(), deleted);
+
+        return toResponse(results.toArray(new TodoBatchItemResultDTO[0]), userId, TodoAction.DELETED);
+    }
+
+    private static void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new RuntimeException("처리할 항목이 없습니다");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("한 번에 처리할 수 있는 항목은 " + MAX_BATCH_SIZE + "개까지입니다");
+        }
+    }
+
+    // 항목 하나의 입력값 검증 (문제가 없다면 null 리턴)
+    private <T> String validate(T dto) {
+        if (dto == null) return "항목이 비어있습니다";
+        Set<ConstraintViolation<T>> violations = validator.validate(dto);
+        if (violations.isEmpty()) return null;
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " : " + v.getMessage())
+                .collect(Collectors.joining(", "));
+    }
+
+    private TodoBatchResponseDTO toResponse(
+            TodoBatchItemResultDTO[] results, String userId, TodoAction action) {
+        List<TodoBatchItemResultDTO> resultList = Arrays.asList(results);
+        boolean changed = resultList.stream().anyMatch(TodoBatchItemResultDTO::isSuccess);
+        if (!changed) {
+            return TodoBatchResponseDTO.of(resultList, versionTracker.currentETag(userId));
+        }
+
+        // 하나라도 반영되었다면 목록 버전을 한 번만 올리고, 반영된 항목마다 변경 이벤트 발행
+        String version = versionTracker.toETag(versionTracker.bump(userId));
+        resultList.stream()
+                .filter(TodoBatchItemResultDTO::isSuccess)
+                .forEach(result -> eventPublisher.publishEvent(new TodoChangedEvent(userId,
+                        TodoDeltaResponseDTO.builder()
+                                .action(action)
+                                .id(result.getId())
+                                .todo(result.getTodo())
+                                .version(version)
+                                .build())));
+        return TodoBatchResponseDTO.of(resultList, version);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.todo.todoapi.service;
+
+import com.example.todo.userapi.entity.Role;
+import com.example.todo.userapi.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Component
+@Slf4j
+// 역할 : tbl_user의 todo_count 컬럼으로 회원별 할 일 개수를 관리
+// 등록할 때마다 COUNT(*)를 실행하지 않고, 카운터 하나로 등급별 등록 제한을 검사한다
+// 컬럼이 추가되기 전에 가입한 회원(todo_count가 null)은 시작 시 한 번 실제 개수로 채우고,
+// 그 전에 할 일을 등록하면 해당 회원만 먼저 채운 뒤 검사한다
+public class TodoCountManager {
+
+    // 일반(COMMON) 회원이 등록할 수 있는 최대 할 일 개수
+    public static final int COMMON_TODO_LIMIT = 5;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // 한 번에 개수를 채우거나 보정할 회원 수 (tbl_user 전체를 한 번에 UPDATE 하지 않도록)
+    private final int batchSize;
+
+    // 보정 작업이 마지막으로 확인한 회원 id (실행할 때마다 다음 묶음을 보정하고, 끝에 도달하면 처음부터 다시)
+    // 서버마다 따로 가지므로 여러 서버에서 실행되어도 각자 한 묶음씩만 처리한다
+    private volatile String reconcileCursor = "";
+
+    public TodoCountManager(UserRepository userRepository,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${todo.count.batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 할 일 하나를 등록할 자리를 확보 (카운터 1 증가)
+     * 호출한 트랜잭션이 롤백되면 증가도 함께 취소된다
+     *
+     * @param userId - 할 일을 등록하는 회원 id
+     * @return - 등록 가능하다면 true, 등록 제한을 초과했다면 false
+     */
+    @Transactional
+    public boolean tryReserve(String userId) {
+        if (userRepository.increaseTodoCount(userId, Role.COMMON, COMMON_TODO_LIMIT) > 0) {
+            return true;
+        }
+        // 아직 개수를 세지 않은 회원이라면 실제 개수로 채운 뒤 다시 검사 (제한 초과일 때만 실행되는 추가 쿼리)
+        // 다른 요청이 먼저 채웠다면 채운 행이 없으므로, 결과와 상관없이 한 번 더 증가를 시도한다
+        userRepository.backfillTodoCount(List.of(userId));
+        return userRepository.increaseTodoCount(userId, Role.COMMON, COMMON_TODO_LIMIT) > 0;
+    }
+
+    // 등록 제한이 없는 회원의 카운터를 한 번에 증가 (일괄 등록용)
+    @Transactional
+    public void add(String userId, int amount) {
+        if (amount <= 0) return;
+        userRepository.addTodoCount(userId, amount);
+    }
+
+    // 할 일이 삭제되었을 때 카운터 감소
+    @Transactional
+    public void release(String userId, int amount) {
+        if (amount <= 0) return;
+        userRepository.decreaseTodoCount(userId, amount);
+    }
+
+    // 컬럼이 추가되기 전에 가입한 회원의 개수를 채운다 (채울 회원이 없다면 조회 한 번으로 끝남)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int filled = 0;
+        List<String> userIds;
+        do {
+            userIds = userRepository.findIdsWithoutTodoCount(Limit.of(batchSize));
+            if (userIds.isEmpty()) break;
+            List<String> batch = userIds;
+            Integer rows = transactionTemplate.execute(status -> userRepository.backfillTodoCount(batch));
+            if (rows == null || rows == 0) break;   // 다른 서버가 먼저 채움
+            filled += rows;
+        } while (userIds.size() == batchSize);
+
+        if (filled > 0) {
+            log.info("할 일 개수 카운터 초기화 - {}명", filled);
+        }
+    }
+
+    // 카운터가 실제 개수와 어긋난 경우(직접 DB 수정, 장애 등)를 주기적으로 보정
+    // 실행할 때마다 회원 한 묶음만 보정한다 (tbl_user 전체에 대한 UPDATE를 서버마다 실행하지 않도록)
+    @Scheduled(fixedDelayString = "${todo.count.reconcile-interval-ms:3600000}",
+            initialDelayString = "${todo.count.reconcile-initial-delay-ms:60000}")
+    public void reconcile() {
+        List<String> userIds = userRepository.findIdsAfter(reconcileCursor, Limit.of(batchSize));
+        // 마지막 묶음이면 다음 실행은 처음부터
+        reconcileCursor = userIds.size() < batchSize ? "" : userIds.get(userIds.size() - 1);
+        if (userIds.isEmpty()) return;
+
+        Integer repaired = transactionTemplate.execute(status -> userRepository.reconcileTodoCount(userIds));
+        if (repaired != null && repaired > 0) {
+            log.warn("할 일 개수 카운터 보정 - {}명", repaired);
+        }
+    }
+}
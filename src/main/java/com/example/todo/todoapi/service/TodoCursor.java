@@ -0,0 +1,52 @@
+package com.example.todo.todoapi.service;
+
+import com.example.todo.todoapi.entity.Todo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+@ToString
+@AllArgsConstructor
+// 커서 페이징에 사용하는 커서 (마지막으로 응답한 할 일의 등록 시간과 id)
+// 클라이언트에게는 내용을 알 수 없는 문자열(base64url)로 전달한다
+public class TodoCursor {
+
+    private static final String DELIMITER = "|";
+
+    private final LocalDateTime createDate;
+    private final String todoId;
+
+    public static TodoCursor from(Todo todo) {
+        return new TodoCursor(todo.getCreateDate(), todo.getTodoId());
+    }
+
+    // 커서를 클라이언트에게 전달할 문자열로 변환
+    public String encode() {
+        String raw = createDate + DELIMITER + todoId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 클라이언트가 전달한 문자열을 커서로 복원 (형식이 잘못되었다면 예외 발생)
+    public static TodoCursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int idx = raw.indexOf(DELIMITER);
+            if (idx < 0) {
+                throw new IllegalStateException();
+            }
+            return new TodoCursor(
+                    LocalDateTime.parse(raw.substring(0, idx)),
+                    raw.substring(idx + 1)
+            );
+        } catch (IllegalArgumentException | IllegalStateException | DateTimeParseException e) {
+            throw new RuntimeException("유효하지 않은 커서입니다");
+        }
+    }
+}
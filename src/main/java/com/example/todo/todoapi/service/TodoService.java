@@ -1,22 +1,34 @@
 package com.example.todo.todoapi.service;
 
+import com.example.todo.exception.TodoNotFoundException;
 import com.example.todo.todoapi.dto.request.TodoCreateRequestDTO;
 import com.example.todo.todoapi.dto.request.TodoModifyRequestDTO;
+import com.example.todo.todoapi.dto.response.TodoDeltaResponseDTO;
+import com.example.todo.todoapi.dto.response.TodoDeltaResponseDTO.TodoAction;
 import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
 import com.example.todo.todoapi.dto.response.TodoListResponseDTO;
 import com.example.todo.todoapi.entity.Todo;
+import com.example.todo.todoapi.event.TodoChangedEvent;
 import com.example.todo.todoapi.repository.TodoRepository;
-import com.example.todo.userapi.entity.Role;
 import com.example.todo.userapi.entity.User;
-import com.example.todo.userapi.repository.UserRepository;
+import com.example.todo.userapi.service.UserLookupService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -25,11 +37,36 @@ import java.util.stream.Collectors;
 public class TodoService {
 
     private final TodoRepository todoRepository;
-    private final UserRepository userRepository;
+    private final UserLookupService userLookupService;
+    private final TodoVersionTracker versionTracker;
+    private final TodoCountManager todoCountManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 커서 페이징 시 한 페이지에 담을 수 있는 할 일 개수
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
     public TodoListResponseDTO create(
             final TodoCreateRequestDTO requestDTO,
             final String userId) {
+        saveTodo(requestDTO, userId);
+        // 할 일 저장이 끝나면 목록을 불러오는데, 지금까지는 전부 가져왔지만
+        // 이제는 회원별로 할 일을 등록하므로, 방금 할 일을 추가한 회원의 목록을 가져와야 한다
+        return retrieve(userId);
+    }
+
+    // 전체 목록을 다시 조회하지 않고 등록된 할 일만 리턴
+    public TodoDeltaResponseDTO createDelta(
+            final TodoCreateRequestDTO requestDTO,
+            final String userId) {
+        Todo saved = saveTodo(requestDTO, userId);
+        return toDelta(TodoAction.CREATED, saved.getTodoId(), new TodoDetailResponseDTO(saved), userId);
+    }
+
+    private Todo saveTodo(
+            final TodoCreateRequestDTO requestDTO,
+            final String userId) {
 
         // 이제 할 일 등록은 회원만 할 수 있도록 하기 때문에
         // toEntity의 매개값으로 User 엔터티도 함께 전달 -> userId로 회원 엔터티 조회 필요
@@ -37,62 +74,192 @@ public class TodoService {
 
         // 권한에 따른 글쓰기 제한 처리
         // 일반 회원이 일정을 5개 초과해서 작성하면 예외 발생
-        if (user.getRole() == Role.COMMON && todoRepository.countByUser(user) >= 5) {
+        // 회원별 할 일 개수 카운터를 조건부로 증가시켜서 검사 (동시에 등록해도 제한을 넘지 않음)
+        if (!todoCountManager.tryReserve(userId)) {
             throw new IllegalArgumentException("일반 회원은 더 이상 일정을 등록할 수 없습니다");
         }
 
-        todoRepository.save(requestDTO.toEntity(user));
+        Todo saved = todoRepository.save(requestDTO.toEntity(user));
+        publishChange(TodoAction.CREATED, saved.getTodoId(), new TodoDetailResponseDTO(saved), userId);
         log.info("할일 저장 완료. 제목 : {}", requestDTO.getTitle());
-        // 할 일 저장이 끝나면 목록을 불러오는데, 지금까지는 전부 가져왔지만
-        // 이제는 회원별로 할 일을 등록하므로, 방금 할 일을 추가한 회원의 목록을 가져와야 한다
-        return retrieve(userId);
+        return saved;
     }
 
 
+    // 현재 할 일 목록의 ETag (목록 대신 tbl_user의 목록 버전 컬럼 하나만 조회해서 생성)
+    // 목록이 바뀌지 않았다면 클라이언트가 가진 ETag와 같으므로 목록 조회를 생략할 수 있다
+    // 목록을 조회하기 전에 호출해야 한다 (커밋된 버전만 보이므로, 이 버전 이후의 목록은 이전 ETag로 304가 되지 않는다)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public String getListETag(String userId, String cursor, Integer size) {
+        if (cursor == null && size == null) {
+            return versionTracker.currentETag(userId);
+        }
+        // 페이지마다 내용이 다르므로 커서와 페이지 크기로 구분
+        return versionTracker.currentETag(userId, Integer.toHexString(Objects.hash(cursor, size)));
+    }
+
     // 할 일 목록 가져오기
+    // 조회 전용 트랜잭션 : 하이버네이트 flush 모드가 MANUAL로 설정되어 커밋 시 변경 감지를 하지 않는다
+    @Transactional(readOnly = true)
     public TodoListResponseDTO retrieve(String userId) {
 
-        // 로그인 한 유저의 정보를 데이터베이스에서 조회
+        // 로그인 한 유저의 정보를 조회 (캐시)
+        getUser(userId);
+
+        // 엔터티를 만들지 않고 필요한 컬럼만 DTO로 바로 조회
+        List<TodoDetailResponseDTO> dtoList = todoRepository.findDetailsByUserId(userId);
+
+        return TodoListResponseDTO.builder()
+                .todos(dtoList)
+                .build();
+    }
+
+    /**
+     * 할 일 목록 전체를 JSON으로 출력 스트림에 바로 기록 (대용량 목록 내보내기)
+     * 목록을 List로 모으지 않고 DB에서 읽는 대로 한 건씩 직렬화하므로 목록 크기와 상관없이 메모리 사용량이 일정하다
+     * 응답 형식은 TodoListResponseDTO와 같다
+     *
+     * @param userId - 로그인 한 회원 id
+     * @param out - 응답 출력 스트림
+     */
+    @Transactional(readOnly = true)
+    public void exportTo(String userId, OutputStream out) throws IOException {
+        getUser(userId);
+
+        try (Stream<TodoDetailResponseDTO> todos = todoRepository.streamDetailsByUserId(userId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // 응답 스트림은 스프링이 닫으므로 generator가 닫지 않도록 설정
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            generator.writeStartObject();
+            generator.writeNullField("error");
+            generator.writeArrayFieldStart("todos");
+            Iterator<TodoDetailResponseDTO> iterator = todos.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+            }
+            generator.writeEndArray();
+            generator.writeNullField("nextCursor");
+            generator.writeBooleanField("hasMore", false);
+            generator.writeEndObject();
+        }
+    }
+
+    // 할 일 목록을 커서 기반으로 한 페이지씩 가져오기
+    @Transactional(readOnly = true)
+    public TodoListResponseDTO retrievePage(String userId, String cursor, Integer size) {
+
         User user = getUser(userId);
-        List<Todo> entityList = todoRepository.findAllByUser(user);
+        int pageSize = (size == null || size <= 0) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        // 다음 페이지가 있는지 확인하기 위해 한 개를 더 조회
+        Limit limit = Limit.of(pageSize + 1);
+        List<Todo> entityList;
+        if (cursor == null || cursor.isBlank()) {
+            entityList = todoRepository.findFirstPageByUser(user, limit);
+        } else {
+            TodoCursor after = TodoCursor.decode(cursor);
+            entityList = todoRepository.findPageByUserAfter(user, after.getCreateDate(), after.getTodoId(), limit);
+        }
+
+        boolean hasMore = entityList.size() > pageSize;
+        if (hasMore) {
+            entityList = entityList.subList(0, pageSize);
+        }
 
         List<TodoDetailResponseDTO> dtoList = entityList.stream()
-//                .map(entity -> new TodoDetailResponseDTO(entity))
                 .map(TodoDetailResponseDTO::new)
                 .collect(Collectors.toList());
 
         return TodoListResponseDTO.builder()
                 .todos(dtoList)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? TodoCursor.from(entityList.get(pageSize - 1)).encode() : null)
                 .build();
     }
 
     public TodoListResponseDTO delete(
             final String todoId, final String userId) {
-
-        todoRepository.findById(todoId).orElseThrow(
-                () -> {
-                    log.error("id가 존재하지 않아 삭제에 실패했습니다. - ID : {}", todoId);
-                    throw new RuntimeException("id가 존재하지않아 삭제에 실패했습니다");
-                }
-        );
-        todoRepository.deleteById(todoId);
+        deleteTodo(todoId, userId);
         return retrieve(userId);
     }
 
+    public TodoDeltaResponseDTO deleteDelta(
+            final String todoId, final String userId) {
+        deleteTodo(todoId, userId);
+        return toDelta(TodoAction.DELETED, todoId, null, userId);
+    }
+
+    private void deleteTodo(
+            final String todoId, final String userId) {
+
+        // 조회 후 삭제하지 않고 작성자 조건을 포함한 DELETE 한 번으로 처리
+        // 삭제된 행이 없다면 존재하지 않거나 다른 회원의 할 일
+        int deleted = todoRepository.deleteByIdAndUserId(todoId, userId);
+        if (deleted == 0) {
+            log.error("id가 존재하지 않아 삭제에 실패했습니다. - ID : {}", todoId);
+            throw new TodoNotFoundException("id가 존재하지않아 삭제에 실패했습니다");
+        }
+        todoCountManager.release(userId, deleted);
+        publishChange(TodoAction.DELETED, todoId, null, userId);
+    }
+
     public TodoListResponseDTO update(
             final TodoModifyRequestDTO requestDTO, final String userId) {
-        Optional<Todo> targetEntity = todoRepository.findById(requestDTO.getId());
+        updateTodo(requestDTO, userId);
+        return retrieve(userId);
+    }
 
-        targetEntity.ifPresent(todo -> {
-            todo.setDone(requestDTO.isDone());
-            todoRepository.save(todo);
-        });
+    public TodoDeltaResponseDTO updateDelta(
+            final TodoModifyRequestDTO requestDTO, final String userId) {
+        TodoDetailResponseDTO updated = updateTodo(requestDTO, userId);
+        return toDelta(TodoAction.UPDATED, requestDTO.getId(), updated, userId);
+    }
 
-        return retrieve(userId);
+    // 리턴값 : 수정된 할 일 (변경 이벤트와 변경분 응답에 같은 값을 사용)
+    private TodoDetailResponseDTO updateTodo(
+            final TodoModifyRequestDTO requestDTO, final String userId) {
+
+        // 조회, 수정, 저장 대신 작성자 조건을 포함한 UPDATE 한 번으로 처리
+        int updated = todoRepository.updateDoneByIdAndUserId(
+                requestDTO.getId(), userId, requestDTO.isDone());
+        if (updated == 0) {
+            log.error("id가 존재하지 않아 수정에 실패했습니다. - ID : {}", requestDTO.getId());
+            throw new TodoNotFoundException("id가 존재하지않아 수정에 실패했습니다");
+        }
+        // 요청에는 완료 여부만 있으므로 수정된 행을 다시 조회해서 제목까지 담아 보낸다
+        // (일부 필드가 비어있는 DTO를 보내면 목록에 그대로 합치는 클라이언트의 제목이 지워진다)
+        TodoDetailResponseDTO todo = todoRepository.findDetailById(requestDTO.getId()).orElseThrow();
+        publishChange(TodoAction.UPDATED, requestDTO.getId(), todo, userId);
+        return todo;
+    }
+
+    // 목록 버전을 올리고 변경 이벤트를 발행 (트랜잭션 커밋 후 SSE 연결로 전달된다)
+    private void publishChange(
+            TodoAction action, String todoId, TodoDetailResponseDTO todo, String userId) {
+        long version = versionTracker.bump(userId);
+        eventPublisher.publishEvent(new TodoChangedEvent(userId, TodoDeltaResponseDTO.builder()
+                .action(action)
+                .id(todoId)
+                .todo(todo)
+                .version(versionTracker.toETag(version))
+                .build()));
+    }
+
+    // 변경된 할 일 하나와 변경 후의 목록 버전을 담은 응답 생성
+    private TodoDeltaResponseDTO toDelta(
+            TodoAction action, String todoId, TodoDetailResponseDTO todo, String userId) {
+        return TodoDeltaResponseDTO.builder()
+                .action(action)
+                .id(todoId)
+                .todo(todo)
+                .version(versionTracker.currentETag(userId))
+                .build();
     }
 
+    // 회원 정보는 캐시에서 먼저 조회 (할 일 요청마다 tbl_user를 조회하지 않도록)
     private User getUser(String userId) {
-        User user = userRepository.findById(userId).orElseThrow(
+        User user = userLookupService.findById(userId).orElseThrow(
                 () -> new RuntimeException("회원 정보가 없습니다")
         );
         return user;
@@ -0,0 +1,48 @@
+package com.example.todo.todoapi.service;
+
+import com.example.todo.userapi.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor
+// 역할 : 회원별 할 일 목록의 버전을 관리하는 객체
+// 목록이 바뀔 때마다(등록, 수정, 삭제) 버전을 올리고, 클라이언트에게는 ETag 형태로 전달한다
+// 버전은 tbl_user의 todo_version 컬럼에 저장한다
+// - 할 일 변경과 같은 트랜잭션에서 올리므로 커밋 전에는 다른 요청에게 이전 버전이 보인다
+//   (커밋 전의 이전 목록이 새 버전의 ETag로 응답되지 않는다)
+// - 여러 서버가 같은 버전을 보므로 다른 서버에서 변경된 목록에 304를 응답하지 않는다
+public class TodoVersionTracker {
+
+    private final UserRepository userRepository;
+
+    // 현재 목록 버전 조회
+    // 목록을 조회하기 전에 먼저 호출해야 한다 (버전을 읽은 뒤 목록이 바뀌면 클라이언트는 다음 요청에서 새 목록을 받는다)
+    public long current(String userId) {
+        return userRepository.findTodoVersion(userId).orElse(0L);
+    }
+
+    // 목록이 변경되었을 때 버전을 올리고 올라간 버전을 리턴
+    // 할 일 변경과 함께 커밋, 롤백되도록 반드시 트랜잭션 안에서 호출
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long bump(String userId) {
+        userRepository.increaseTodoVersion(userId);
+        return current(userId);
+    }
+
+    // 버전 번호를 ETag 값(따옴표 포함)으로 변환
+    public String toETag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    public String currentETag(String userId) {
+        return toETag(current(userId));
+    }
+
+    // 같은 목록이라도 응답 형태가 다른 경우(페이지 등) 구분값을 붙여서 ETag 생성
+    public String currentETag(String userId, String variant) {
+        return "\"" + current(userId) + "-" + variant + "\"";
+    }
+}
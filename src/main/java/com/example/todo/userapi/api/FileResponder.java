@@ -0,0 +1,117 @@
+package com.example.todo.userapi.api;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.File;
+import java.util.List;
+
+@Component
+@Slf4j
+// 역할 : 디스크에 저장된 파일(프로필 이미지 등)을 응답
+// - 파일 내용을 byte[]로 읽지 않고, Tomcat의 sendfile 기능으로 커널이 파일을 소켓에 바로 복사하도록 한다 (힙을 거치지 않음)
+// - Range 요청(일부분만 요청)을 지원한다 (206 Partial Content)
+// - ETag, Last-Modified로 조건부 요청을 처리한다 (파일이 그대로라면 304 Not Modified)
+public class FileResponder {
+
+    // Tomcat이 sendfile을 지원하는 커넥터에서 요청에 넣어주는 속성
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    // 응답할 파일과 범위를 지정하면 서블릿이 끝난 뒤 Tomcat이 직접 전송한다
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * 파일을 응답
+     *
+     * @param file - 응답할 파일
+     * @param contentType - 응답 Content-Type
+     * @param webRequest - 조건부 요청 검사, sendfile 지원 여부 확인에 사용할 요청 정보
+     * @return - 응답 (파일이 바뀌지 않았다면 null -> 304)
+     */
+    public ResponseEntity<?> respond(File file, MediaType contentType, ServletWebRequest webRequest) {
+        long length = file.length();
+        long lastModified = file.lastModified();
+        // 파일 수정 시각과 크기로 ETag 생성 (파일 내용을 읽어서 해시를 만들지 않음)
+        String eTag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "\"";
+
+        // 조건부 요청 : 클라이언트가 가진 파일과 같다면 304(Not Modified)
+        if (webRequest.checkNotModified(eTag, lastModified)) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(lastModified)
+                // 브라우저가 이미지를 저장하되 사용할 때마다 서버에 ETag로 확인하도록 설정
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(contentType);
+
+        HttpServletRequest request = webRequest.getRequest();
+        FileSystemResource resource = new FileSystemResource(file);
+
+        // sendfile을 지원하지 않는 환경(다른 서블릿 컨테이너, 테스트 등)이나 HEAD 요청은 Resource로 응답
+        // 스프링이 파일을 작은 버퍼로 나눠서 복사하고, Range 요청도 처리해준다
+        if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))
+                || HttpMethod.HEAD.matches(request.getMethod())) {
+            return builder.body(resource);
+        }
+
+        ResourceRegion region;
+        try {
+            region = requestedRegion(webRequest, resource, eTag, length);
+        } catch (IllegalArgumentException e) {
+            // 파일 범위를 벗어난 Range 요청
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                    .build();
+        }
+
+        // 여러 구간을 요청한 경우(multipart/byteranges)는 스프링에 맡긴다
+        if (region == null) {
+            return builder.body(resource);
+        }
+
+        long start = region.getPosition();
+        long end = start + region.getCount();
+        request.setAttribute(SENDFILE_FILENAME, file.getAbsolutePath());
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, end);
+
+        if (region.getCount() != length) {
+            builder = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .eTag(eTag)
+                    .lastModified(lastModified)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length)
+                    .contentType(contentType);
+        }
+        // 본문은 Tomcat이 sendfile로 전송하므로 헤더만 설정
+        return builder.contentLength(region.getCount()).build();
+    }
+
+    /**
+     * 요청한 파일 범위
+     * Range 헤더가 없거나, If-Range가 현재 ETag와 다르다면(파일이 바뀐 경우) 파일 전체
+     * 여러 구간을 요청했다면 null
+     */
+    private static ResourceRegion requestedRegion(
+            ServletWebRequest webRequest, FileSystemResource resource, String eTag, long length) {
+        String rangeHeader = webRequest.getHeader(HttpHeaders.RANGE);
+        String ifRange = webRequest.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader == null || (ifRange != null && !ifRange.equals(eTag))) {
+            return new ResourceRegion(resource, 0, length);
+        }
+
+        List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+        if (ranges.size() != 1) return null;
+        return ranges.get(0).toResourceRegion(resource);
+    }
+}
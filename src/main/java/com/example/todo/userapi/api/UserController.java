@@ -9,22 +9,22 @@ import com.example.todo.userapi.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.repository.query.Param;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.util.FileCopyUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @Slf4j
@@ -33,6 +33,7 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
+    private final FileResponder fileResponder;
 
     // 이메일 중복 확인 요청 처리
     // GET : /api/auth/check?email=zzzz@xxx.mmm
@@ -63,15 +64,15 @@ public class UserController {
         if (resultEntity != null) return resultEntity;
 
         try {
-            String uploadedFilePath = null;
+            String profileImageKey = null;
             if (profileImage != null) {
                 log.info("attached file name : {}", profileImage.getOriginalFilename());
-                // 전달받은 프로필 이미지를 먼저 지정된 경로에 저장한 후 저장 경로를 DB에 세팅
+                // 전달받은 프로필 이미지를 먼저 저장한 후 저장 키를 DB에 세팅
 
-                uploadedFilePath = userService.uploadProfileImage(profileImage);
+                profileImageKey = userService.uploadProfileImage(profileImage);
             }
 
-            UserSignUpResponseDTO responseDTO = userService.create(dto, uploadedFilePath);
+            UserSignUpResponseDTO responseDTO = userService.create(dto, profileImageKey);
             return ResponseEntity.ok().body(responseDTO);
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -104,54 +105,49 @@ public class UserController {
     }
 
     // 프로필 사진 이미지 데이터를 클라이언트에게 응답 처리
+    // 파일을 메모리에 읽지 않고 sendfile로 전송하며, Range 요청과 조건부 요청(304)을 지원한다
+    // GET : /api/auth/load-profile?size=128 -> 128px 이상인 가장 작은 썸네일 (없다면 원본)
     @GetMapping("/load-profile")
     public ResponseEntity<?> loadFile(
-            @AuthenticationPrincipal TokenUserInfo userInfo) {
-
-        try {
-            // 1. 프로필 사진의 경로부터 얻어야한다
-            String filePath = userService.findProfilePath(userInfo.getUserId());
-
-            // 2. 얻어낸 파일 경로를 통해 실제 파일 데이터를 로드한다
-            File profileFile = new File(filePath);
-
-            // 모든 사용자가 프로필 사진을 가지는 것은 아니다 (등록하지 않은 사람은 경로가 존재하지 않음)
-            // 만약 존재하지 않는 경로라면 클라이언트로 404 status를 리턴
-            if (!profileFile.exists()) {
-                // 만약 조회한 파일 경로가 http://~로 시작한다면 카카오 로그인
-                // 카카오 로그인 프로필은 변환 과정 없이 바로 이미지 url 리턴
-                if (filePath.startsWith("http://")) {
-                    return ResponseEntity.ok().body(filePath);
-                }
-                return ResponseEntity.notFound().build();
-            }
-
-            // 해당 경로에 저장된 파일을 바이트 배열로 직렬화해서 리턴
-            byte[] fileData = FileCopyUtils.copyToByteArray(profileFile);
-
-            // 3. 응답 헤더에 컨텐츠 타입을 설정
-            HttpHeaders headers = new HttpHeaders();
-            MediaType contentType = findExtensionAndGetMediaType(filePath);
-            if (contentType == null) {
-                return ResponseEntity.internalServerError()
-                        .body("발견된 파일은 이미지 파일이 아닙니다");
+            @AuthenticationPrincipal TokenUserInfo userInfo,
+            @RequestParam(value = "size", required = false) Integer size,
+            ServletWebRequest webRequest) {
+
+        // 1. 프로필 사진의 경로부터 얻어야한다
+        String filePath = userService.findProfilePath(userInfo.getUserId(), size);
+
+        // 2. 얻어낸 파일 경로를 통해 실제 파일을 찾는다
+        File profileFile = new File(filePath);
+
+        // 모든 사용자가 프로필 사진을 가지는 것은 아니다 (등록하지 않은 사람은 경로가 존재하지 않음)
+        // 만약 존재하지 않는 경로라면 클라이언트로 404 status를 리턴
+        if (!profileFile.exists()) {
+            // 만약 조회한 파일 경로가 http(s)://~로 시작한다면 카카오 로그인
+            // 카카오 이미지를 로컬에 캐시하지 못한 경우에만 url이 오므로 변환 과정 없이 바로 이미지 url 리턴
+            if (filePath.startsWith("http://") || filePath.startsWith("https://")) {
+                return ResponseEntity.ok().body(filePath);
             }
-            headers.setContentType(contentType);
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(fileData);
+            return ResponseEntity.notFound().build();
+        }
 
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        // 3. 응답 헤더에 컨텐츠 타입을 설정
+        MediaType contentType = findExtensionAndGetMediaType(filePath);
+        if (contentType == null) {
+            return ResponseEntity.internalServerError()
+                    .body("발견된 파일은 이미지 파일이 아닙니다");
         }
+
+        // 4. 파일 응답 (파일이 바뀌지 않았다면 304)
+        return fileResponder.respond(profileFile, contentType, webRequest);
     }
 
+    // 카카오 서버 응답을 기다리는 동안 Tomcat 스레드를 반납하도록 CompletableFuture를 리턴 (비동기 처리)
     @GetMapping("/kakaologin")
-    public ResponseEntity<?> kakaoLogin(String code) {
+    public CompletableFuture<ResponseEntity<?>> kakaoLogin(String code) {
         log.info("/api/auth/kakaoLogin - GET! code : {}", code);
 
-        LoginResponseDTO responseDTO = userService.kakaoService(code);
-        return ResponseEntity.ok().body(responseDTO);
+        return userService.kakaoService(code)
+                .thenApply(responseDTO -> ResponseEntity.ok().body(responseDTO));
     }
 
     @GetMapping("/logout")
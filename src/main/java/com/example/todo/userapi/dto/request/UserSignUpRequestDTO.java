@@ -27,12 +27,13 @@ public class UserSignUpRequestDTO {
     @Size(min = 2, max = 5)
     private String userName;
 
-    public User toEntity(String uploadRootPath) {
+    // profileImageKey : ProfileImageStore가 리턴한 프로필 이미지 저장 키 (없다면 null)
+    public User toEntity(String profileImageKey) {
         return User.builder()
                 .email(email)
                 .password(password)
                 .userName(userName)
-                .profileImg(uploadRootPath)
+                .profileImg(profileImageKey)
                 .build();
     }
 }
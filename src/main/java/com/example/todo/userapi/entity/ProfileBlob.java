@@ -0,0 +1,59 @@
+package com.example.todo.userapi.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+// 내용 주소 방식으로 저장된 프로필 이미지 파일 (같은 내용의 이미지는 파일 하나를 공유한다)
+// 파일을 사용하는 회원 수(참조 수)가 0이 되면 정리 작업이 파일을 삭제한다
+@Table(name = "tbl_profile_blob", indexes = {
+        @Index(name = "idx_profile_blob_ref_count", columnList = "ref_count, upload_date")
+})
+public class ProfileBlob implements Persistable<String> {
+
+    @Id
+    @Column(name = "blob_key", length = 80)
+    private String blobKey;     // <sha256>.<확장자> (회원의 profileImg에 저장되는 값)
+
+    @Column(nullable = false)
+    private long size;          // 파일 크기 (byte)
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;       // 이 파일을 프로필 이미지로 사용하는 회원 수
+
+    // 마지막으로 업로드된 시각 (참조 수가 0인 파일은 업로드 후 일정 시간이 지나야 삭제한다)
+    @Column(name = "upload_date", nullable = false)
+    private LocalDateTime uploadDate;
+
+    // 키를 직접 넣으므로, 저장 시 merge(SELECT 후 INSERT) 대신 바로 INSERT 하도록 새 엔터티인지 표시
+    @Transient
+    @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean newEntity = true;
+
+    @Override
+    public String getId() {
+        return blobKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
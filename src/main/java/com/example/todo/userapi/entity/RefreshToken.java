@@ -0,0 +1,68 @@
+package com.example.todo.userapi.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+// 발급한 리프레시 토큰 (기기마다 하나씩 발급되므로 회원 한 명이 여러 개를 가질 수 있다)
+// 토큰 원문 대신 SHA-256 해시만 저장하고, 토큰의 jti(토큰 id)를 기본 키로 조회한다
+@Table(name = "tbl_refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_token_expiry", columnList = "expiry_date")
+})
+public class RefreshToken implements Persistable<String> {
+
+    @Id
+    @Column(name = "token_id", length = 36)
+    private String tokenId;    // 토큰의 jti 클레임
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;   // 토큰 원문의 SHA-256 해시 (16진수 64자)
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "expiry_date", nullable = false)
+    private Date expiryDate;    // 리프레시 토큰 만료일
+
+    @CreationTimestamp
+    private LocalDateTime createDate;
+
+    // 토큰 id를 직접 넣으므로, 저장 시 merge(SELECT 후 INSERT) 대신 바로 INSERT 하도록 새 엔터티인지 표시
+    @Transient
+    @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean newEntity = true;
+
+    @Override
+    public String getId() {
+        return tokenId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
+    public boolean isExpired(Date now) {
+        return expiryDate.before(now);
+    }
+}
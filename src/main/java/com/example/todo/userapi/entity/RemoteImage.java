@@ -0,0 +1,73 @@
+package com.example.todo.userapi.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+// 외부(카카오)에서 가져와서 로컬 이미지 저장소에 캐시해둔 프로필 이미지
+// 이미지 내용은 ProfileImageStore에 저장하고(blobKey), 여기에는 원본 url과 재검증용 정보만 저장한다
+@Table(name = "tbl_remote_image")
+public class RemoteImage implements Persistable<String> {
+
+    @Id
+    @Column(name = "url_hash", length = 64)
+    private String urlHash;     // 원본 url의 SHA-256 해시 (url은 길이 제한이 없으므로 키로 사용하지 않음)
+
+    @Column(nullable = false, length = 1000)
+    private String url;
+
+    @Column(name = "blob_key", nullable = false, length = 80)
+    private String blobKey;     // 로컬 이미지 저장소의 키
+
+    private String eTag;        // 원본 서버가 보낸 ETag (재검증 시 If-None-Match)
+
+    private String lastModified;    // 원본 서버가 보낸 Last-Modified (재검증 시 If-Modified-Since)
+
+    @Column(nullable = false)
+    private LocalDateTime fetchDate;    // 마지막으로 원본 서버에 확인한 시각
+
+    // 키를 직접 넣으므로, 저장 시 merge(SELECT 후 INSERT) 대신 바로 INSERT 하도록 새 엔터티인지 표시
+    @Transient
+    @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean newEntity = true;
+
+    @Override
+    public String getId() {
+        return urlHash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
+    // 원본 서버가 이미지가 그대로라고 응답한 경우 (304)
+    public void revalidated(LocalDateTime now) {
+        this.fetchDate = now;
+    }
+
+    // 원본 이미지가 바뀐 경우
+    public void replace(String blobKey, String eTag, String lastModified, LocalDateTime now) {
+        this.blobKey = blobKey;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+        this.fetchDate = now;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.todo.userapi.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+// 프로필 이미지 썸네일 생성 작업 (DB에 저장되므로 서버가 재시작되어도 작업이 사라지지 않는다)
+// 처리가 끝난 작업은 삭제하고, 여러 번 실패한 작업만 FAILED로 남긴다
+@Table(name = "tbl_thumbnail_job", indexes = {
+        @Index(name = "idx_thumbnail_job_status", columnList = "status, create_date")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_thumbnail_job_blob", columnNames = "blob_key")
+})
+public class ThumbnailJob {
+
+    @Id
+    @Column(name = "job_id")
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String jobId;
+
+    @Column(name = "blob_key", nullable = false, length = 80)
+    private String blobKey;     // 썸네일을 만들 원본 이미지 키
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Builder.Default
+    private int attempts = 0;   // 실행 횟수
+
+    @CreationTimestamp
+    @Column(name = "create_date")
+    private LocalDateTime createDate;
+
+    private LocalDateTime updateDate;   // 마지막 상태 변경 시각
+
+    public enum Status {
+        PENDING, RUNNING, FAILED
+    }
+}
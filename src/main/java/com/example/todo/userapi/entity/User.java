@@ -2,10 +2,10 @@ package com.example.todo.userapi.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
-import java.util.Date;
 
 @Getter
 @ToString
@@ -14,6 +14,7 @@ import java.util.Date;
 @EqualsAndHashCode
 @Builder
 @Entity
+@EntityListeners(UserCacheEvictListener.class) // 회원 정보가 바뀌면 조회 캐시를 비운다
 @Table(name = "tbl_user")
 public class User {
 
@@ -38,30 +39,39 @@ public class User {
     @Builder.Default
     private Role role = Role.COMMON;    //  유저 권한
 
-    private String profileImg;  // 프로필 이미지 경로
+    private String profileImg;  // 프로필 이미지 저장 키 (ProfileImageStore, 내용 주소 방식 이전에 가입한 회원은 파일명)
 
     private String accessToken; // 카카오 로그인 시 발급받는 accessToken 저장 -> 로그아웃 때 필요
 
-    @Column(length = 400)
-    private String refreshToken;    // 리프레시 토큰 값
+    // 회원이 등록한 할 일 개수 (등급별 등록 제한 검사용)
+    // UserRepository의 UPDATE 쿼리로만 증감시키고, 엔터티 수정 시에는 컬럼에 반영하지 않는다
+    // (다른 요청이 조회해 둔 오래된 값으로 덮어쓰는 것을 막기 위함)
+    // null : 컬럼이 추가되기 전에 가입한 회원 (아직 개수를 세지 않음, TodoCountManager가 채운다)
+    //        기본값 0으로 추가하면 이미 할 일이 있는 회원도 0부터 시작해서 제한을 넘어 등록할 수 있으므로 기본값을 두지 않는다
+    @Column(updatable = false)
+    @Builder.Default
+    private Integer todoCount = 0;
 
-    private Date refreshTokenExpiryDate;    // 리프레시 토큰 만료일
+    // 할 일 목록 버전 (목록 ETag 생성용)
+    // 할 일을 변경하는 트랜잭션 안에서 UPDATE 쿼리로 증가시키므로 커밋되어야 다른 요청(다른 서버 포함)에게 보인다
+    // todoCount와 같은 이유로 엔터티 수정 시에는 컬럼에 반영하지 않는다
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private long todoVersion = 0L;
 
     // 등급 수정 메서드 (엔터티는 @Setter를 설정하지 않고 변경 가능성이 있는 필드를 직접 수정하는 메서드를 작성하는 것이 일반적)
     public void changeRole(Role role) {
         this.role = role;
     }
 
+    // 비밀번호 해시 변경 (해시 알고리즘, 강도가 바뀌어서 다시 해시한 경우)
+    public void changePassword(String encodedPassword) {
+        this.password = encodedPassword;
+    }
+
     // 카카오 access token 저장하는 필드
     public void changeAccessToken(String accessToken) {
         this.accessToken = accessToken;
     }
-
-    public void changeRefreshToken(String refreshToken) {
-        this.refreshToken = refreshToken;
-    }
-
-    public void changeRefreshExpiryDate(Date date) {
-        this.refreshTokenExpiryDate = date;
-    }
 }
@@ -0,0 +1,53 @@
+package com.example.todo.userapi.entity;
+
+import com.example.todo.config.CacheConfig;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+// 역할 : User 엔터티가 저장, 수정(changeRole, changeAccessToken 등), 삭제될 때 회원 조회 캐시를 비우는 리스너
+public class UserCacheEvictListener {
+
+    private final CacheManager cacheManager;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        evictNow(user);
+
+        // 커밋 전에 다른 요청이 이전 값을 다시 캐싱할 수 있으므로 커밋 후에 한 번 더 비운다
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(user);
+                }
+            });
+        }
+    }
+
+    private void evictNow(User user) {
+        log.debug("회원 캐시 삭제 - {}", user.getEmail());
+        evictKey(CacheConfig.USER_BY_ID, user.getId());
+        evictKey(CacheConfig.USER_BY_EMAIL, user.getEmail());
+        evictKey(CacheConfig.USER_EXISTS_BY_EMAIL, user.getEmail());
+    }
+
+    private void evictKey(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.todo.userapi.repository;
+
+import com.example.todo.userapi.entity.ProfileBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProfileBlobRepository extends JpaRepository<ProfileBlob, String> {
+
+    // 다시 업로드된 파일의 업로드 시각 갱신 (정리 작업이 업로드 직후의 파일을 지우지 않도록)
+    @Modifying
+    @Query("UPDATE ProfileBlob b SET b.uploadDate = :now WHERE b.blobKey = :blobKey")
+    int touch(@Param("blobKey") String blobKey, @Param("now") LocalDateTime now);
+
+    // 참조 수 증가 (회원이 프로필 이미지로 사용)
+    @Modifying
+    @Query("UPDATE ProfileBlob b SET b.refCount = b.refCount + 1 WHERE b.blobKey = :blobKey")
+    int retain(@Param("blobKey") String blobKey);
+
+    // 참조 수 감소 (0 아래로는 내려가지 않음)
+    @Modifying
+    @Query("UPDATE ProfileBlob b SET b.refCount = b.refCount - 1 WHERE b.blobKey = :blobKey AND b.refCount > 0")
+    int release(@Param("blobKey") String blobKey);
+
+    // 참조 수가 0이고 마지막 업로드 후 일정 시간이 지난 파일 조회
+    @Query("SELECT b.blobKey FROM ProfileBlob b WHERE b.refCount = 0 AND b.uploadDate < :before")
+    List<String> findUnreferencedKeys(@Param("before") LocalDateTime before, Limit limit);
+
+    // 아직 참조되지 않은 파일 정보를 잠그고 조회 (정리 작업이 파일을 지우는 동안 같은 이미지의 업로드가 기다리도록)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM ProfileBlob b WHERE b.blobKey = :blobKey AND b.refCount = 0 AND b.uploadDate < :before")
+    Optional<ProfileBlob> lockIfUnreferenced(@Param("blobKey") String blobKey, @Param("before") LocalDateTime before);
+
+    // 그 사이 다시 참조되지 않았을 때만 삭제 (리턴값 : 삭제된 행 수)
+    @Modifying
+    @Query("DELETE FROM ProfileBlob b WHERE b.blobKey = :blobKey AND b.refCount = 0 AND b.uploadDate < :before")
+    int deleteIfUnreferenced(@Param("blobKey") String blobKey, @Param("before") LocalDateTime before);
+}
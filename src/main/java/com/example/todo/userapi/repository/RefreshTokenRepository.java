@@ -0,0 +1,26 @@
+package com.example.todo.userapi.repository;
+
+import com.example.todo.userapi.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.List;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    // 만료되지 않은 리프레시 토큰 조회 (메모리 저장소 초기화용)
+    List<RefreshToken> findByExpiryDateAfter(Date now);
+
+    // 회원의 리프레시 토큰을 모두 삭제 (모든 기기에서 로그아웃)
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.userId = :userId")
+    int deleteAllByUserId(@Param("userId") String userId);
+
+    // 만료된 리프레시 토큰 삭제
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiryDate < :now")
+    int deleteExpired(@Param("now") Date now);
+}
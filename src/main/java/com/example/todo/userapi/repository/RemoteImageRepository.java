@@ -0,0 +1,23 @@
+package com.example.todo.userapi.repository;
+
+import com.example.todo.userapi.entity.RemoteImage;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RemoteImageRepository extends JpaRepository<RemoteImage, String> {
+
+    // 오래 사용되지 않은 캐시 조회
+    @Query("SELECT r FROM RemoteImage r WHERE r.fetchDate < :before")
+    List<RemoteImage> findByFetchDateBefore(@Param("before") LocalDateTime before, Limit limit);
+
+    // 그 사이 다시 사용되지 않았을 때만 삭제 (리턴값 : 삭제된 행 수)
+    @Modifying
+    @Query("DELETE FROM RemoteImage r WHERE r.urlHash = :urlHash AND r.fetchDate < :before")
+    int deleteIfFetchedBefore(@Param("urlHash") String urlHash, @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,53 @@
+package com.example.todo.userapi.repository;
+
+import com.example.todo.userapi.entity.ThumbnailJob;
+import com.example.todo.userapi.entity.ThumbnailJob.Status;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ThumbnailJobRepository extends JpaRepository<ThumbnailJob, String> {
+
+    // 대기중인 작업을 등록 순서대로 조회
+    @Query("SELECT j FROM ThumbnailJob j WHERE j.status = :status ORDER BY j.createDate")
+    List<ThumbnailJob> findByStatus(@Param("status") Status status, Limit limit);
+
+    // 대기중인 작업을 실행 상태로 변경 (다른 서버가 먼저 가져간 경우 0)
+    @Modifying
+    @Query("UPDATE ThumbnailJob j SET j.status = :running, j.attempts = j.attempts + 1, j.updateDate = :now" +
+            " WHERE j.jobId = :jobId AND j.status = :pending")
+    int claim(@Param("jobId") String jobId, @Param("pending") Status pending,
+              @Param("running") Status running, @Param("now") LocalDateTime now);
+
+    // 가져간 작업을 실행하지 못하고 되돌려놓음 (claim에서 올린 실행 횟수도 되돌린다)
+    @Modifying
+    @Query("UPDATE ThumbnailJob j SET j.status = :pending, j.attempts = j.attempts - 1, j.updateDate = :now" +
+            " WHERE j.jobId = :jobId AND j.status = :running")
+    int unclaim(@Param("jobId") String jobId, @Param("running") Status running,
+                @Param("pending") Status pending, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ThumbnailJob j SET j.status = :status, j.updateDate = :now WHERE j.jobId = :jobId")
+    int updateStatus(@Param("jobId") String jobId, @Param("status") Status status, @Param("now") LocalDateTime now);
+
+    // 실행 중에 서버가 종료되어 오래 RUNNING으로 남은 작업 중 실행 횟수가 최대 횟수에 도달한 작업은 실패 처리
+    // (처리 중에 서버를 종료시키는 이미지가 서버를 계속 종료시키지 않도록, resetStale보다 먼저 실행)
+    @Modifying
+    @Query("UPDATE ThumbnailJob j SET j.status = :failed, j.updateDate = :now" +
+            " WHERE j.status = :running AND j.updateDate < :before AND j.attempts >= :maxAttempts")
+    int failStale(@Param("running") Status running, @Param("failed") Status failed,
+                  @Param("maxAttempts") int maxAttempts,
+                  @Param("before") LocalDateTime before, @Param("now") LocalDateTime now);
+
+    // 실행 중에 서버가 종료되어 오래 RUNNING으로 남은 작업을 다시 대기 상태로 변경
+    @Modifying
+    @Query("UPDATE ThumbnailJob j SET j.status = :pending, j.updateDate = :now" +
+            " WHERE j.status = :running AND j.updateDate < :before")
+    int resetStale(@Param("pending") Status pending, @Param("running") Status running,
+                   @Param("before") LocalDateTime before, @Param("now") LocalDateTime now);
+}
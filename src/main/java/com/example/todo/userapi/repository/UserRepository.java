@@ -1,8 +1,15 @@
 package com.example.todo.userapi.repository;
 
+import com.example.todo.userapi.entity.Role;
 import com.example.todo.userapi.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User
@@ -13,6 +20,59 @@ public interface UserRepository extends JpaRepository<User
 
     Optional<User> findByEmail(String email);
 
-    // 리프레시 토큰으로 사용자 정보 조회
-    Optional<User> findByRefreshToken(String refreshToken);
+    // 할 일 개수 증가 (제한 등급 회원은 limit 미만일 때만 증가)
+    // 조건 검사와 증가를 하나의 UPDATE로 처리하므로 동시에 등록해도 제한을 넘지 않는다
+    // 아직 개수를 세지 않은(null) 회원은 증가시키지 않는다 -> backfillTodoCount 후 다시 호출
+    // 리턴값 : 변경된 행 수 (0이면 제한 초과 또는 개수를 세지 않은 회원)
+    @Modifying
+    @Query("UPDATE User u SET u.todoCount = u.todoCount + 1" +
+            " WHERE u.id = :userId AND u.todoCount IS NOT NULL" +
+            " AND (u.role <> :limitedRole OR u.todoCount < :limit)")
+    int increaseTodoCount(@Param("userId") String userId,
+                          @Param("limitedRole") Role limitedRole,
+                          @Param("limit") int limit);
+
+    // 할 일 개수를 조건 없이 amount만큼 증가 (등록 제한이 없는 회원의 일괄 등록용)
+    // null인 회원은 null로 유지된다 (나중에 실제 개수로 채워진다)
+    @Modifying
+    @Query("UPDATE User u SET u.todoCount = u.todoCount + :amount WHERE u.id = :userId")
+    int addTodoCount(@Param("userId") String userId, @Param("amount") int amount);
+
+    // 할 일 개수 감소 (0 아래로는 내려가지 않음)
+    @Modifying
+    @Query("UPDATE User u SET u.todoCount =" +
+            " CASE WHEN u.todoCount > :amount THEN u.todoCount - :amount ELSE 0 END" +
+            " WHERE u.id = :userId")
+    int decreaseTodoCount(@Param("userId") String userId, @Param("amount") int amount);
+
+    // 할 일 목록 버전 증가 (할 일을 변경하는 트랜잭션 안에서 호출)
+    @Modifying
+    @Query("UPDATE User u SET u.todoVersion = u.todoVersion + 1 WHERE u.id = :userId")
+    int increaseTodoVersion(@Param("userId") String userId);
+
+    // 할 일 목록 버전 조회 (엔터티를 만들지 않고 컬럼 하나만 조회)
+    @Query("SELECT u.todoVersion FROM User u WHERE u.id = :userId")
+    Optional<Long> findTodoVersion(@Param("userId") String userId);
+
+    // 아직 개수를 세지 않은 회원 id 조회 (시작 시 채우기용)
+    @Query("SELECT u.id FROM User u WHERE u.todoCount IS NULL")
+    List<String> findIdsWithoutTodoCount(Limit limit);
+
+    // 보정할 회원 id를 id 순서로 한 묶음씩 조회
+    @Query("SELECT u.id FROM User u WHERE u.id > :after ORDER BY u.id")
+    List<String> findIdsAfter(@Param("after") String after, Limit limit);
+
+    // 개수를 세지 않은 회원의 할 일 개수를 tbl_todo의 개수로 채운다
+    @Modifying
+    @Query("UPDATE User u SET u.todoCount = (SELECT COUNT(t) FROM Todo t WHERE t.user = u)" +
+            " WHERE u.id IN :userIds AND u.todoCount IS NULL")
+    int backfillTodoCount(@Param("userIds") Collection<String> userIds);
+
+    // 할 일 개수를 실제 tbl_todo의 개수로 맞춘다 (주어진 회원 중 어긋난 회원만 수정)
+    // native : UPDATE tbl_user u SET todo_count = (SELECT COUNT(*) FROM tbl_todo t WHERE t.user_id = u.user_id) WHERE ...
+    @Modifying
+    @Query("UPDATE User u SET u.todoCount = (SELECT COUNT(t) FROM Todo t WHERE t.user = u)" +
+            " WHERE u.id IN :userIds AND (u.todoCount IS NULL" +
+            " OR u.todoCount <> (SELECT COUNT(t) FROM Todo t WHERE t.user = u))")
+    int reconcileTodoCount(@Param("userIds") Collection<String> userIds);
 }
@@ -0,0 +1,36 @@
+package com.example.todo.userapi.service;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+// 업로드를 허용하는 이미지 형식
+// 파일명이나 Content-Type 헤더가 아니라 파일 앞부분의 시그니처(magic bytes)로 판단한다
+public enum ImageType {
+
+    JPEG("jpg", new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}),
+    PNG("png", new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}),
+    GIF("gif", new byte[]{'G', 'I', 'F', '8'});
+
+    // 형식을 판단하기 위해 읽어야 하는 앞부분 길이
+    public static final int SIGNATURE_LENGTH = 8;
+
+    private final String extension;
+    private final byte[] signature;
+
+    ImageType(String extension, byte[] signature) {
+        this.extension = extension;
+        this.signature = signature;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    // 파일 앞부분으로 이미지 형식 판단 (허용하지 않는 형식이라면 비어있는 Optional)
+    public static Optional<ImageType> detect(byte[] header) {
+        return Arrays.stream(values())
+                .filter(type -> header.length >= type.signature.length
+                        && Arrays.equals(header, 0, type.signature.length, type.signature, 0, type.signature.length))
+                .findFirst();
+    }
+}
@@ -0,0 +1,432 @@
+package com.example.todo.userapi.service;
+
+import com.example.todo.exception.ServiceUnavailableException;
+import com.example.todo.userapi.entity.RefreshToken;
+import com.example.todo.userapi.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "jwt.refresh.store", havingValue = "memory")
+// 역할 : 리프레시 토큰 발급 기록을 메모리에 보관하고, DB에는 모아서 비동기로 기록(write-behind)하는 저장소
+// 로그인, 재발급 요청이 tbl_refresh_token을 직접 읽고 쓰지 않으므로 DB 부하가 줄어든다
+// - 조회는 메모리에서만 한다 (서버 시작 시 DB에 남아있는 유효한 토큰을 불러온다)
+// - 만료된 토큰은 만료 시각 순으로 정렬된 인덱스로 찾아서 제거한다
+// - 서버가 비정상 종료되면 아직 기록되지 않은 토큰은 사라진다 (해당 기기는 다시 로그인해야 함)
+// - DB에 연결할 수 없으면 간격을 늘려가며(backoff) 다시 기록한다 (그동안 대기열의 작업은 꺼내지 않는다)
+// - 묶음 기록이 실패하면 한 건씩 나눠서 기록하고, 여러 번 실패한 작업은 포기(dead letter)하고 알린다
+//   (포기한 토큰은 서버가 재시작될 때까지만 유효하다)
+// - 기록 대기열이 가득 차면 토큰을 발급하지 않고 503으로 거절한다 (요청 스레드에서 DB에 직접 기록하지 않는다)
+// - 토큰 폐기(로그아웃 등)는 모아서 기록하지 않고 바로 DB에서 삭제한다
+//   (기록 전에 서버가 재시작되면 폐기된 토큰이 load로 다시 살아나기 때문)
+// 메모리는 서버마다 따로 있으므로 서버를 한 대만 운영할 때 사용할 것
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // 한 번에 DB에 기록할 최대 작업 수
+    private final int batchSize;
+
+    // key : 토큰 id(jti)
+    private final Map<String, RefreshToken> tokens = new ConcurrentHashMap<>();
+
+    // 만료 시각 순으로 정렬된 토큰 id (만료된 토큰을 앞에서부터 꺼내서 제거)
+    private final NavigableSet<Expiry> expiries = new ConcurrentSkipListSet<>();
+
+    // 아직 DB에 기록하지 않은 작업 (요청 순서대로 기록)
+    private final BlockingQueue<PendingWrite> pendingWrites;
+
+    // DB 기록이 동시에 실행되지 않도록 하는 락 (스케줄러, 종료 시 기록, 토큰 폐기)
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // DB 기록에 실패해서 다시 기록할 작업 (flushLock을 잡고 사용, 대기열의 작업보다 먼저 기록)
+    private final List<PendingWrite> retryWrites = new ArrayList<>();
+    private final int retryCapacity;
+
+    // 기록을 포기한 작업 (flushLock을 잡고 사용, 최근 것만 보관)
+    private final Deque<PendingWrite> deadLetters = new ArrayDeque<>();
+    private static final int DEAD_LETTER_CAPACITY = 1000;
+
+    // 작업 하나를 기록하다 실패할 수 있는 최대 횟수 (DB 연결 실패는 세지 않는다)
+    private final int maxAttempts;
+
+    // 기록 실패 시 다시 시도하기까지 기다리는 시간 (실패할 때마다 2배, 최대 1분)
+    private static final long INITIAL_RETRY_DELAY_MILLIS = 1_000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 60_000;
+    private long retryDelayMillis = 0;
+    private long nextAttemptAt = 0;
+
+    private final Counter writeFailures;
+    private final Counter deadLetterCount;
+    private final Counter rejectedSaves;
+
+    public InMemoryRefreshTokenStore(RefreshTokenRepository refreshTokenRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${jwt.refresh.write-behind.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${jwt.refresh.write-behind.batch-size:500}") int batchSize,
+                                     @Value("${jwt.refresh.write-behind.retry-capacity:10000}") int retryCapacity,
+                                     @Value("${jwt.refresh.write-behind.max-attempts:5}") int maxAttempts) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.pendingWrites = new LinkedBlockingQueue<>(queueCapacity);
+        this.retryCapacity = retryCapacity;
+        this.maxAttempts = maxAttempts;
+
+        Gauge.builder("jwt.refresh.store.size", tokens, Map::size)
+                .description("메모리에 보관중인 리프레시 토큰 개수")
+                .register(meterRegistry);
+        Gauge.builder("jwt.refresh.store.pending", pendingWrites, Queue::size)
+                .description("DB에 기록되지 않은 리프레시 토큰 작업 개수")
+                .register(meterRegistry);
+        Gauge.builder("jwt.refresh.store.retry", retryWrites, List::size)
+                .description("DB 기록에 실패해서 다시 기록할 리프레시 토큰 작업 개수")
+                .register(meterRegistry);
+        this.writeFailures = Counter.builder("jwt.refresh.store.write.failures")
+                .description("리프레시 토큰 DB 기록 실패 횟수")
+                .register(meterRegistry);
+        this.deadLetterCount = Counter.builder("jwt.refresh.store.dead.letters")
+                .description("DB 기록을 포기한 리프레시 토큰 작업 수")
+                .register(meterRegistry);
+        this.rejectedSaves = Counter.builder("jwt.refresh.store.rejected")
+                .description("기록 대기열이 가득 차서 거절한 리프레시 토큰 발급 수")
+                .register(meterRegistry);
+    }
+
+    // 서버 시작 시 DB에 저장된 유효한 토큰을 메모리로 불러온다
+    @PostConstruct
+    public void load() {
+        List<RefreshToken> saved = refreshTokenRepository.findByExpiryDateAfter(new Date());
+        saved.forEach(this::putInMemory);
+        log.info("리프레시 토큰 {}개를 불러왔습니다", saved.size());
+    }
+
+    // 기록 대기열이 가득 찼다면(DB 기록이 밀리거나 DB 장애) 메모리에서도 지우고 503으로 거절한다
+    // 요청 스레드에서 DB에 직접 기록하지 않는다 (장애 중이라면 어차피 실패하고, 요청 스레드만 타임아웃까지 묶인다)
+    @Override
+    public void save(RefreshToken refreshToken) {
+        putInMemory(refreshToken);
+        if (!pendingWrites.offer(PendingWrite.save(refreshToken))) {
+            tokens.remove(refreshToken.getTokenId());
+            expiries.remove(Expiry.of(refreshToken));
+            rejectedSaves.increment();
+            log.warn("리프레시 토큰 기록 대기열이 가득 차서 토큰 발급을 거절합니다");
+            throw new ServiceUnavailableException("요청이 많아 로그인을 처리할 수 없습니다. 잠시 후 다시 시도해 주세요");
+        }
+    }
+
+    @Override
+    public Optional<RefreshToken> findById(String tokenId) {
+        RefreshToken token = tokens.get(tokenId);
+        // 만료됐지만 아직 정리되지 않은 토큰은 없는 것으로 처리
+        if (token == null || token.isExpired(new Date())) return Optional.empty();
+        return Optional.of(token);
+    }
+
+    // 토큰 폐기는 DB에 바로 기록한다 (실패하면 예외를 던지고, 다시 기록할 작업으로 남겨둔다)
+    @Override
+    public int deleteAllByUserId(String userId) {
+        int deleted = 0;
+        Iterator<RefreshToken> iterator = tokens.values().iterator();
+        while (iterator.hasNext()) {
+            RefreshToken token = iterator.next();
+            if (token.getUserId().equals(userId)) {
+                iterator.remove();
+                expiries.remove(Expiry.of(token));
+                deleted++;
+            }
+        }
+
+        flushLock.lock();
+        try {
+            // 아직 기록하지 않은 이 회원의 토큰 저장 작업은 버린다 (삭제 후에 기록되어 되살아나지 않도록)
+            pendingWrites.removeIf(write -> write.token() != null && write.userId().equals(userId));
+            retryWrites.removeIf(write -> write.token() != null && write.userId().equals(userId));
+            try {
+                transactionTemplate.executeWithoutResult(
+                        status -> refreshTokenRepository.deleteAllByUserId(userId));
+            } catch (RuntimeException e) {
+                addRetry(PendingWrite.deleteByUser(userId));
+                onWriteFailure(e);
+                throw e;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteExpired(Date now) {
+        int deleted = evictExpired(now.getTime());
+        // DB에 남아있는 만료된 토큰도 함께 정리 (만료된 토큰은 다시 저장되지 않으므로 순서와 상관없다)
+        transactionTemplate.executeWithoutResult(status -> refreshTokenRepository.deleteExpired(now));
+        return deleted;
+    }
+
+    // 만료 시각이 지난 토큰을 메모리에서 제거 (DB 기록은 하지 않는다)
+    @Scheduled(fixedDelayString = "${jwt.refresh.memory.evict-interval-ms:1000}")
+    public void evictExpired() {
+        evictExpired(System.currentTimeMillis());
+    }
+
+    private int evictExpired(long now) {
+        int evicted = 0;
+        Expiry first;
+        while ((first = expiries.pollFirst()) != null) {
+            if (first.expiresAt() > now) {
+                // 아직 만료되지 않았으므로 되돌려놓고 중단 (뒤에 있는 토큰은 더 늦게 만료된다)
+                expiries.add(first);
+                break;
+            }
+            tokens.remove(first.tokenId());
+            evicted++;
+        }
+        return evicted;
+    }
+
+    // 쌓인 작업을 DB에 기록 (이전에 실패했다면 대기 시간이 지난 뒤에 다시 시도)
+    @Scheduled(fixedDelayString = "${jwt.refresh.write-behind.flush-interval-ms:1000}")
+    public void flush() {
+        flush(false);
+    }
+
+    private void flush(boolean force) {
+        flushLock.lock();
+        try {
+            if (!force && System.currentTimeMillis() < nextAttemptAt) return;
+
+            FlushRound round = new FlushRound();
+
+            // 실패했던 작업을 먼저 기록 (순서 유지)
+            List<PendingWrite> retries = new ArrayList<>(retryWrites);
+            retryWrites.clear();
+            for (int from = 0; from < retries.size(); from += batchSize) {
+                round.write(retries.subList(from, Math.min(from + batchSize, retries.size())));
+            }
+
+            // DB에 연결할 수 없다면 대기열의 작업은 꺼내지 않는다 (대기열 크기로 메모리 사용량이 제한되도록)
+            List<PendingWrite> batch = new ArrayList<>(batchSize);
+            while (round.unavailable == null && pendingWrites.drainTo(batch, batchSize) > 0) {
+                round.write(batch);
+                batch.clear();
+            }
+            round.remaining.forEach(this::addRetry);
+
+            if (round.unavailable != null) {
+                onWriteFailure(round.unavailable);
+                return;
+            }
+            if (retryDelayMillis > 0) {
+                log.info("리프레시 토큰 DB 기록이 복구되었습니다");
+            }
+            retryDelayMillis = 0;
+            nextAttemptAt = 0;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // DB에 연결할 수 없어서 실패한 경우 (작업 자체의 문제가 아니므로 작업의 실패 횟수에 포함하지 않는다)
+    private static boolean isUnavailable(RuntimeException e) {
+        return e instanceof CannotCreateTransactionException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException;
+    }
+
+    // 다시 기록할 작업으로 남겨둔다 (개수가 제한을 넘으면 포기)
+    private void addRetry(PendingWrite write) {
+        if (retryWrites.size() >= retryCapacity) {
+            deadLetter(write, null);
+            return;
+        }
+        retryWrites.add(write);
+    }
+
+    // 작업을 기록할 수 없어서 실패한 경우 (실패 횟수가 최대가 되면 포기)
+    private boolean retryable(PendingWrite write, RuntimeException e) {
+        writeFailures.increment();
+        if (++write.attempts >= maxAttempts) {
+            deadLetter(write, e);
+            return false;
+        }
+        log.warn("리프레시 토큰 작업 기록 실패 ({}/{}) - user : {}", write.attempts, maxAttempts, write.userId(), e);
+        return true;
+    }
+
+    // 기록을 포기한 작업을 보관하고 알림 (flushLock을 잡은 상태에서 호출)
+    // 저장 작업을 포기한 토큰은 메모리에 남아있는 동안(서버가 재시작될 때까지)만 유효하다
+    private void deadLetter(PendingWrite write, RuntimeException e) {
+        deadLetters.addLast(write);
+        if (deadLetters.size() > DEAD_LETTER_CAPACITY) {
+            deadLetters.pollFirst();
+        }
+        deadLetterCount.increment();
+        log.error("리프레시 토큰 작업의 DB 기록을 포기합니다 - {}, user : {}, 실패 횟수 : {}",
+                write.token() != null ? "저장 " + write.token().getTokenId() : "전체 삭제",
+                write.userId(), write.attempts, e);
+    }
+
+    // DB에 연결할 수 없을 때 다음 시도 시각을 늦추고 알림 (flushLock을 잡은 상태에서 호출)
+    private void onWriteFailure(RuntimeException e) {
+        writeFailures.increment();
+        retryDelayMillis = retryDelayMillis == 0
+                ? INITIAL_RETRY_DELAY_MILLIS
+                : Math.min(retryDelayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+        nextAttemptAt = System.currentTimeMillis() + retryDelayMillis;
+        log.error("리프레시 토큰 DB 기록에 실패했습니다 - 작업 {}개를 {}ms 후 다시 기록합니다",
+                retryWrites.size() + pendingWrites.size(), retryDelayMillis, e);
+    }
+
+    // 서버 종료 전 남은 작업을 기록 (대기 시간과 상관없이 한 번 더 시도)
+    @PreDestroy
+    public void shutdown() {
+        flush(true);
+        int lost = retryWrites.size() + pendingWrites.size() + deadLetters.size();
+        if (lost > 0) {
+            log.error("리프레시 토큰 작업 {}개를 DB에 기록하지 못하고 종료합니다", lost);
+        }
+    }
+
+    // 작업 목록을 하나의 트랜잭션으로 기록
+    // 순서를 지키기 위해 연속된 저장 작업만 모아서 saveAll로 처리하고, 삭제 작업을 만나면 그때까지 모은 것을 먼저 저장
+    private void write(List<PendingWrite> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<RefreshToken> saves = new ArrayList<>();
+            for (PendingWrite write : batch) {
+                if (write.token() != null) {
+                    saves.add(write.token());
+                    continue;
+                }
+                if (!saves.isEmpty()) {
+                    refreshTokenRepository.saveAll(saves);
+                    saves.clear();
+                }
+                refreshTokenRepository.deleteAllByUserId(write.userId());
+            }
+            if (!saves.isEmpty()) {
+                refreshTokenRepository.saveAll(saves);
+            }
+        });
+    }
+
+    private void putInMemory(RefreshToken token) {
+        tokens.put(token.getTokenId(), token);
+        expiries.add(Expiry.of(token));
+    }
+
+    // 만료 시각 인덱스의 항목 (만료 시각이 같으면 토큰 id로 구분)
+    private record Expiry(long expiresAt, String tokenId) implements Comparable<Expiry> {
+
+        static Expiry of(RefreshToken token) {
+            return new Expiry(token.getExpiryDate().getTime(), token.getTokenId());
+        }
+
+        @Override
+        public int compareTo(Expiry other) {
+            int result = Long.compare(expiresAt, other.expiresAt);
+            return result != 0 ? result : tokenId.compareTo(other.tokenId);
+        }
+    }
+
+    // 한 번의 flush에서 기록하지 못하고 남은 작업과 DB 연결 실패 (flushLock을 잡은 상태에서 사용)
+    private class FlushRound {
+
+        final List<PendingWrite> remaining = new ArrayList<>();
+        RuntimeException unavailable;
+
+        // 묶음으로 기록하고, 실패하면 한 건씩 나눠서 기록 (기록할 수 없는 작업 하나가 나머지 작업을 막지 않도록)
+        void write(List<PendingWrite> batch) {
+            if (unavailable != null) {
+                remaining.addAll(batch);
+                return;
+            }
+            try {
+                InMemoryRefreshTokenStore.this.write(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (batch.size() == 1 || isUnavailable(e)) {
+                    failed(batch, e);
+                    return;
+                }
+            }
+            for (PendingWrite write : batch) {
+                if (unavailable != null) {
+                    remaining.add(write);
+                    continue;
+                }
+                try {
+                    InMemoryRefreshTokenStore.this.write(List.of(write));
+                } catch (RuntimeException e) {
+                    failed(List.of(write), e);
+                }
+            }
+        }
+
+        private void failed(List<PendingWrite> writes, RuntimeException e) {
+            if (isUnavailable(e)) {
+                unavailable = e;
+                remaining.addAll(writes);
+                return;
+            }
+            for (PendingWrite write : writes) {
+                if (retryable(write, e)) remaining.add(write);
+            }
+        }
+    }
+
+    // DB에 기록할 작업 (token이 있으면 저장, 없으면 userId의 토큰 전체 삭제 - 삭제는 실패해서 다시 기록할 때만 사용)
+    private static final class PendingWrite {
+
+        private final RefreshToken token;
+        private final String userId;
+
+        // 작업 자체의 문제로 기록에 실패한 횟수 (flushLock을 잡고 사용)
+        private int attempts;
+
+        private PendingWrite(RefreshToken token, String userId) {
+            this.token = token;
+            this.userId = userId;
+        }
+
+        static PendingWrite save(RefreshToken token) {
+            return new PendingWrite(token, token.getUserId());
+        }
+
+        static PendingWrite deleteByUser(String userId) {
+            return new PendingWrite(null, userId);
+        }
+
+        RefreshToken token() {
+            return token;
+        }
+
+        String userId() {
+            return userId;
+        }
+    }
+}
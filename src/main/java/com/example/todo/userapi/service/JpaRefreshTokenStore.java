@@ -0,0 +1,43 @@
+package com.example.todo.userapi.service;
+
+import com.example.todo.userapi.entity.RefreshToken;
+import com.example.todo.userapi.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+@Transactional
+@ConditionalOnProperty(name = "jwt.refresh.store", havingValue = "jpa", matchIfMissing = true)
+// 역할 : 리프레시 토큰 발급 기록을 tbl_refresh_token에 바로 읽고 쓰는 저장소 (기본값)
+// 여러 서버가 같은 DB를 사용해도 발급 기록이 공유된다
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Override
+    public void save(RefreshToken refreshToken) {
+        refreshTokenRepository.save(refreshToken);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RefreshToken> findById(String tokenId) {
+        return refreshTokenRepository.findById(tokenId);
+    }
+
+    @Override
+    public int deleteAllByUserId(String userId) {
+        return refreshTokenRepository.deleteAllByUserId(userId);
+    }
+
+    @Override
+    public int deleteExpired(Date now) {
+        return refreshTokenRepository.deleteExpired(now);
+    }
+}
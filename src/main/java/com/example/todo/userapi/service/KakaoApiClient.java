@@ -0,0 +1,203 @@
+package com.example.todo.userapi.service;
+
+import com.example.todo.exception.ExternalApiException;
+import com.example.todo.exception.KakaoClientException;
+import com.example.todo.userapi.dto.response.KakaoUserDTO;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+// 역할 : 카카오 OAuth, 사용자 API 호출을 담당하는 객체
+// 커넥션 풀과 타임아웃이 설정된 RestTemplate을 공유하고, 서킷 브레이커로 장애 시 호출을 차단한다
+public class KakaoApiClient {
+
+    private final RestTemplate restTemplate;
+    private final CircuitBreaker circuitBreaker;
+
+    @Value("${kakao.client_id}")
+    private String KAKAO_CLIENT_ID;
+
+    @Value("${kakao.redirect_url}")
+    private String KAKAO_REDIRECT_URL;
+
+    @Value("${kakao.client_secret}")
+    private String KAKAO_CLIENT_SECRET;
+
+    // 카카오 서버 주소 (부하 테스트 등에서 스텁 서버로 바꿀 수 있도록 설정으로 분리)
+    @Value("${kakao.auth-uri:https://kauth.kakao.com}")
+    private String KAKAO_AUTH_URI;
+
+    @Value("${kakao.api-uri:https://kapi.kakao.com}")
+    private String KAKAO_API_URI;
+
+    // 카카오 API를 비동기로 호출할 때 사용하는 전용 스레드 풀 (크기 제한)
+    // Executor 타입의 빈으로 등록하면 스프링 부트의 기본 작업 실행기(applicationTaskExecutor)가 등록되지 않으므로 내부에서 생성
+    private final ThreadPoolExecutor executor;
+
+    public KakaoApiClient(@Qualifier("kakaoRestTemplate") RestTemplate restTemplate,
+                          @Qualifier("kakaoCircuitBreaker") CircuitBreaker circuitBreaker,
+                          @Value("${kakao.async.threads:16}") int threads,
+                          @Value("${kakao.async.queue-capacity:200}") int queueCapacity) {
+        this.restTemplate = restTemplate;
+        this.circuitBreaker = circuitBreaker;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "kakao-api-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    // 인가 코드로 카카오 access token 발급받기 (비동기)
+    public CompletableFuture<String> getAccessTokenAsync(String code) {
+        return supplyAsync(() -> getAccessToken(code));
+    }
+
+    // 카카오 access token으로 사용자 정보 가져오기 (비동기)
+    public CompletableFuture<KakaoUserDTO> getUserInfoAsync(String accessToken) {
+        return supplyAsync(() -> getUserInfo(accessToken));
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> request) {
+        try {
+            return CompletableFuture.supplyAsync(request, executor);
+        } catch (RejectedExecutionException e) {
+            // 대기 작업이 가득 찼다면 기다리지 않고 바로 실패 처리
+            return CompletableFuture.failedFuture(
+                    new ExternalApiException("카카오 로그인 요청이 많습니다. 잠시 후 다시 시도해주세요"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // 인가 코드로 카카오 access token 발급받기
+    public String getAccessToken(String code) {
+        // 요청 uri
+        String requestURI = KAKAO_AUTH_URI + "/oauth/token";
+
+        // 요청 헤더 설정
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Content-type", "application/x-www-form-urlencoded;charset=utf-8");
+
+        // 요청 바디(파라미터) 설정
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("grant_type", "authorization_code"); // 카카오 공식 문서 기준 값으로 세팅
+        params.add("client_id", KAKAO_CLIENT_ID); // 카카오 디벨로퍼 REST API 키
+        params.add("redirect_uri", KAKAO_REDIRECT_URL); // 카카오 디벨로퍼 등록된 redirect uri
+        params.add("code", code); // 프론트에서 인가 코드 요청시 전달받은 코드값
+        params.add("client_secret", KAKAO_CLIENT_SECRET); // 카카오 디벨로퍼 client secret(활성화 시 추가해 줘야 함)
+
+        // 헤더와 바디 정보를 합치기 위해 HttpEntity 객체 생성
+        HttpEntity<Object> requestEntity = new HttpEntity<>(params, headers);
+
+        // 카카오 서버로 POST 통신
+        // 통신을 보내면서 응답데이터를 리턴
+        // param1: 요청 url
+        // param2: 요청 메서드 (전송 방식)
+        // param3: 헤더와 요청 파라미터정보 엔터티
+        // param4: 응답 데이터를 받을 객체의 타입 (ex: dto, map)
+        // 만약 구조가 복잡한 경우에는 응답 데이터 타입을 String으로 받아서 JSON-simple 라이브러리로 직접 해체.
+        ResponseEntity<Map> responseEntity = call(() ->
+                restTemplate.exchange(requestURI, HttpMethod.POST, requestEntity, Map.class));
+
+        /*
+            HTTP/1.1 200 OK
+            Content-Type: application/json;charset=UTF-8
+            {
+                "token_type":"bearer",
+                "access_token":"${ACCESS_TOKEN}",
+                "expires_in":43199,
+                "refresh_token":"${REFRESH_TOKEN}",
+                "refresh_token_expires_in":5184000,
+                "scope":"account_email profile"
+            }
+        */
+
+        // 응답 데이터에서 필요한 정보 가져오기
+        Map<String, Object> responseData = responseEntity.getBody();
+        log.info(("토큰 요청 응답 데이터 : {}"), responseData);
+
+        // 여러가지 데이터 중 access_token이라는 이름의 데이터 리턴
+        // Object를 String으로 형 변환해서 리턴
+        return (String) responseData.get("access_token");
+    }
+
+    // 카카오 access token으로 사용자 정보 가져오기
+    public KakaoUserDTO getUserInfo(String accessToken) {
+        // 요청 uri
+        String requestURI = KAKAO_API_URI + "/v2/user/me";
+
+        // 요청 헤더 설정
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Authorization", "Bearer " + accessToken);
+        headers.add("Content-type", "application/x-www-form-urlencoded;charset=utf-8");
+
+        // 요청 보내기
+        ResponseEntity<KakaoUserDTO> responseEntity = call(() ->
+                restTemplate.exchange(requestURI, HttpMethod.GET, new HttpEntity<>(headers), KakaoUserDTO.class));
+
+        // 응답 바디 꺼내기
+        KakaoUserDTO responseData = responseEntity.getBody();
+        log.info("user profile : {}", responseData);
+
+        return responseData;
+    }
+
+    // 카카오 로그아웃
+    public String logout(String accessToken) {
+        String reqURI = KAKAO_API_URI + "/v1/user/logout";
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Authorization", "Bearer " + accessToken);
+
+        ResponseEntity<String> responseData = call(() ->
+                restTemplate.exchange(reqURI, HttpMethod.POST, new HttpEntity<>(headers), String.class));
+        return responseData.getBody();
+    }
+
+    // 서킷 브레이커를 거쳐서 호출 (차단 상태이거나 호출이 실패하면 ExternalApiException 발생)
+    // 카카오가 4xx로 거절한 경우는 요청의 문제이므로 KakaoClientException (401은 401, 그 외는 400)
+    private <T> T call(Supplier<T> request) {
+        try {
+            return circuitBreaker.executeSupplier(request);
+        } catch (CallNotPermittedException e) {
+            throw new ExternalApiException("카카오 서버 응답이 원활하지 않습니다. 잠시 후 다시 시도해주세요");
+        } catch (HttpClientErrorException e) {
+            HttpStatus status = e.getStatusCode().isSameCodeAs(HttpStatus.UNAUTHORIZED)
+                    ? HttpStatus.UNAUTHORIZED : HttpStatus.BAD_REQUEST;
+            throw new KakaoClientException("카카오 인증 요청이 거절되었습니다", status, e);
+        } catch (RestClientException e) {
+            throw new ExternalApiException("카카오 서버 호출에 실패했습니다", e);
+        }
+    }
+}
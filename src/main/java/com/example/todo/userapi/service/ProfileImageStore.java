@@ -0,0 +1,257 @@
+package com.example.todo.userapi.service;
+
+import com.example.todo.exception.UnsupportedImageException;
+import com.example.todo.exception.UploadTooLargeException;
+import com.example.todo.userapi.entity.ProfileBlob;
+import com.example.todo.userapi.repository.ProfileBlobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+
+@Component
+@Slf4j
+// 역할 : 프로필 이미지를 내용 주소 방식으로 저장하는 저장소
+// - 업로드 내용을 읽으면서 SHA-256 해시를 계산하고, 해시를 파일명으로 사용한다 (같은 이미지는 한 번만 저장)
+// - 파일은 해시 앞 4글자로 나눈 하위 디렉토리에 저장한다 : <root>/ab/cd/abcd...(64자).jpg
+//   (디렉토리 하나에 파일이 몰리지 않도록)
+// - 파일마다 사용하는 회원 수를 tbl_profile_blob에 기록하고, 아무도 사용하지 않는 파일은 정리 작업이 삭제한다
+// - 썸네일(ThumbnailService)은 원본 옆에 <sha256>_<크기>.jpg로 저장된다
+public class ProfileImageStore {
+
+    // 내용 주소 방식 키 : <sha256 16진수 64자>.<확장자>
+    private static final Pattern BLOB_KEY = Pattern.compile("^[0-9a-f]{64}\\.[a-z0-9]{1,10}$");
+
+    // 업로드 중인 임시 파일을 두는 디렉토리 (같은 파일 시스템이어야 원자적으로 이동할 수 있다)
+    private static final String TEMP_DIR = ".tmp";
+
+    private final ProfileBlobRepository profileBlobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path rootPath;
+
+    // 참조 수가 0인 파일을 삭제하기 전 대기 시간 (업로드 후 회원 가입이 끝나기 전에 지우지 않도록)
+    private final Duration orphanGracePeriod;
+
+    // 업로드 파일 최대 크기 (MultipartConfig와 같은 값)
+    private final long maxBytes;
+
+    public ProfileImageStore(ProfileBlobRepository profileBlobRepository,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${upload.path}") String uploadRootPath,
+                             @Value("${upload.profile.orphan-grace-minutes:60}") long orphanGraceMinutes,
+                             @Value("${upload.profile.max-bytes:5242880}") long maxBytes) {
+        this.profileBlobRepository = profileBlobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.rootPath = Paths.get(uploadRootPath);
+        this.orphanGracePeriod = Duration.ofMinutes(orphanGraceMinutes);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 업로드 된 파일을 저장하고 저장 키를 리턴
+     * 이미 같은 내용의 파일이 있다면 새로 저장하지 않는다
+     * 이미지 형식(jpg, png, gif)이 아니거나 최대 크기를 넘으면 저장하지 않고 예외 발생
+     * 리턴된 키를 회원 정보에 저장할 때 retain으로 참조 수를 올려야 한다
+     *
+     * @param file - 업로드 된 파일 정보
+     * @return - 저장 키 (<sha256>.<확장자>)
+     */
+    public String store(MultipartFile file) throws IOException {
+        // 컨테이너가 알려준 크기로 먼저 거절 (파일을 읽지 않음)
+        if (file.getSize() > maxBytes) {
+            throw new UploadTooLargeException("업로드 가능한 파일 크기를 초과했습니다");
+        }
+        try (InputStream in = file.getInputStream()) {
+            return store(in);
+        }
+    }
+
+    /**
+     * 스트림으로 전달된 이미지를 저장하고 저장 키를 리턴 (외부 이미지 캐시 등)
+     * 스트림은 호출한 쪽에서 닫는다
+     *
+     * @param in - 이미지 내용
+     * @return - 저장 키 (<sha256>.<확장자>)
+     */
+    public String store(InputStream in) throws IOException {
+        // 파일 앞부분으로 이미지 형식 확인 (이미지가 아니라면 임시 파일도 만들지 않는다)
+        byte[] header = in.readNBytes(ImageType.SIGNATURE_LENGTH);
+        ImageType type = ImageType.detect(header).orElseThrow(
+                () -> new UnsupportedImageException("jpg, png, gif 이미지만 업로드할 수 있습니다"));
+
+        Path tempDir = Files.createDirectories(rootPath.resolve(TEMP_DIR));
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            // 임시 파일에 복사하면서 해시 계산 (파일 전체를 메모리에 올리지 않음)
+            MessageDigest digest = sha256();
+            long size = copyWithLimit(header, in, temp, digest);
+            // 확장자는 원본 파일명이 아니라 실제 형식으로 결정
+            String blobKey = HexFormat.of().formatHex(digest.digest()) + "." + type.getExtension();
+
+            Path target = resolve(blobKey);
+            if (Files.exists(target)) {
+                log.info("이미 저장된 프로필 이미지입니다 - {}", blobKey);
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // 같은 이미지가 동시에 업로드된 경우 (내용이 같으므로 먼저 저장된 파일 사용)
+                }
+            }
+
+            register(blobKey, size);
+            // 파일이 있어서 이동하지 않았는데, 그 사이 정리 작업이 파일을 지운 경우 다시 저장
+            // (정리 작업은 파일 정보 행을 잠근 채로 파일을 지우므로, 등록이 끝난 뒤에는 삭제가 끝나 있다)
+            if (Files.notExists(target) && Files.exists(temp)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // 같은 이미지가 동시에 업로드되어 다시 저장됨
+                }
+                log.info("정리 작업과 겹쳐서 프로필 이미지를 다시 저장했습니다 - {}", blobKey);
+            }
+            return blobKey;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // 읽은 크기를 세면서 복사하고, 최대 크기를 넘으면 바로 중단 (리턴값 : 복사한 크기)
+    private long copyWithLimit(byte[] header, InputStream in, Path target, MessageDigest digest) throws IOException {
+        try (OutputStream out = Files.newOutputStream(target)) {
+            digest.update(header);
+            out.write(header);
+
+            long total = header.length;
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new UploadTooLargeException("업로드 가능한 파일 크기를 초과했습니다");
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+            return total;
+        }
+    }
+
+    // 저장 키에 해당하는 파일 경로 (DB 조회, 디렉토리 탐색 없이 계산)
+    public Path resolve(String key) {
+        if (!BLOB_KEY.matcher(key).matches()) {
+            // 내용 주소 방식 이전에 저장된 파일 (루트 디렉토리에 UUID-원본파일명으로 저장됨)
+            return rootPath.resolve(key);
+        }
+        return rootPath.resolve(key.substring(0, 2))
+                .resolve(key.substring(2, 4))
+                .resolve(key);
+    }
+
+    // 썸네일 파일 경로 : 원본과 같은 디렉토리의 <sha256>_<크기>.jpg
+    // 내용 주소 방식 이전에 저장된 파일은 썸네일이 없으므로 null
+    public Path resolveRendition(String key, int size) {
+        if (!BLOB_KEY.matcher(key).matches()) return null;
+        String hash = key.substring(0, key.indexOf('.'));
+        return resolve(key).resolveSibling(hash + "_" + size + ".jpg");
+    }
+
+    // 회원이 프로필 이미지로 사용 (회원 정보를 저장하는 트랜잭션 안에서 호출)
+    public void retain(String key) {
+        if (!BLOB_KEY.matcher(key).matches()) return;
+        if (profileBlobRepository.retain(key) == 0) {
+            log.warn("참조 수를 올릴 프로필 이미지 정보가 없습니다 - {}", key);
+        }
+    }
+
+    // 프로필 이미지를 더 이상 사용하지 않음 (파일은 정리 작업이 삭제)
+    // 캐시한 카카오 이미지가 바뀌었거나 오래 사용되지 않은 경우 RemoteProfileImageCache가 호출
+    public void release(String key) {
+        if (key == null || !BLOB_KEY.matcher(key).matches()) return;
+        profileBlobRepository.release(key);
+    }
+
+    // 아무도 사용하지 않는 프로필 이미지 파일 삭제
+    // 파일 정보 행을 잠근 트랜잭션 안에서 파일을 먼저 지우고 행을 삭제한다
+    // -> 같은 이미지를 업로드하는 요청의 등록(touch, insert)은 삭제가 끝날 때까지 기다린 뒤 파일이 없으면 다시 저장한다
+    @Scheduled(fixedDelayString = "${upload.profile.cleanup-interval-ms:3600000}",
+            initialDelayString = "${upload.profile.cleanup-initial-delay-ms:300000}")
+    public void deleteUnreferenced() {
+        LocalDateTime before = LocalDateTime.now().minus(orphanGracePeriod);
+        List<String> keys = profileBlobRepository.findUnreferencedKeys(before, Limit.of(500));
+
+        int deleted = 0;
+        for (String key : keys) {
+            try {
+                Boolean removed = transactionTemplate.execute(status -> deleteIfUnreferenced(key, before));
+                if (Boolean.TRUE.equals(removed)) deleted++;
+            } catch (RuntimeException e) {
+                log.warn("프로필 이미지 파일 삭제 실패 - {}", key, e);
+            }
+        }
+        if (deleted > 0) {
+            log.info("사용하지 않는 프로필 이미지 {}개 삭제", deleted);
+        }
+    }
+
+    // 트랜잭션 안에서 호출 : 그 사이 다시 업로드, 참조되지 않았다면 파일과 행을 삭제
+    // (테스트에서 정리 작업과 업로드를 겹쳐서 실행할 수 있도록 package-private)
+    boolean deleteIfUnreferenced(String key, LocalDateTime before) {
+        if (profileBlobRepository.lockIfUnreferenced(key, before).isEmpty()) return false;
+        try {
+            Files.deleteIfExists(resolve(key));
+            for (int size : ThumbnailService.SIZES) {
+                Files.deleteIfExists(resolveRendition(key, size));
+            }
+        } catch (IOException e) {
+            // 행을 남겨두고(롤백) 다음 실행 때 다시 시도
+            throw new UncheckedIOException(e);
+        }
+        return profileBlobRepository.deleteIfUnreferenced(key, before) > 0;
+    }
+
+    // 파일 정보 등록 (이미 있다면 업로드 시각만 갱신)
+    private void register(String blobKey, long size) {
+        Integer touched = transactionTemplate.execute(status -> profileBlobRepository.touch(blobKey, LocalDateTime.now()));
+        if (touched != null && touched > 0) return;
+        try {
+            profileBlobRepository.save(ProfileBlob.builder()
+                    .blobKey(blobKey)
+                    .size(size)
+                    .refCount(0)
+                    .uploadDate(LocalDateTime.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // 같은 이미지가 동시에 처음 업로드되어 이미 등록됨
+            log.debug("이미 등록된 프로필 이미지입니다 - {}", blobKey);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 JVM은 SHA-256을 지원해야 하므로 발생하지 않는다
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.todo.userapi.service;
+
+import com.example.todo.auth.TokenProvider;
+import com.example.todo.userapi.entity.RefreshToken;
+import com.example.todo.userapi.entity.User;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+// 역할 : 리프레시 토큰 발급 기록을 저장하고, 재발급 요청 시 토큰을 확인
+// 토큰의 jti(기본 키)로 한 건만 조회하고 저장된 해시와 비교하므로, 토큰 원문 컬럼을 검색하지 않는다
+// 발급 기록을 어디에 둘지는 RefreshTokenStore 구현체가 정한다 (트랜잭션도 저장소가 관리)
+public class RefreshTokenService {
+
+    private final RefreshTokenStore refreshTokenStore;
+    private final TokenProvider tokenProvider;
+
+    /**
+     * 리프레시 토큰을 새로 발급하고 저장
+     *
+     * @param user - 토큰을 발급받을 회원
+     * @return - 발급된 리프레시 토큰
+     */
+    public String issue(User user) {
+        String tokenId = UUID.randomUUID().toString();
+        String token = tokenProvider.createRefreshKey(user, tokenId);
+
+        refreshTokenStore.save(RefreshToken.builder()
+                .tokenId(tokenId)
+                .tokenHash(hash(token))
+                .userId(user.getId())
+                .expiryDate(tokenProvider.getExpiryDate(token))
+                .build());
+        return token;
+    }
+
+    /**
+     * 리프레시 토큰을 검사하고 토큰 주인의 회원 id를 리턴
+     * 서명이 위조되었거나, 발급 기록이 없거나(삭제된 토큰 포함), 만료된 경우 비어있는 Optional 리턴
+     *
+     * @param token - 클라이언트가 보낸 리프레시 토큰
+     * @return - 토큰 주인의 회원 id
+     */
+    public Optional<String> verify(String token) {
+        Optional<Claims> claims = tokenProvider.getRefreshTokenClaims(token);
+        // jti가 없는 토큰은 이전 방식으로 발급된 토큰이므로 다시 로그인해야 한다
+        if (claims.isEmpty() || claims.get().getId() == null) {
+            return Optional.empty();
+        }
+
+        return refreshTokenStore.findById(claims.get().getId())
+                .filter(saved -> MessageDigest.isEqual(
+                        saved.getTokenHash().getBytes(StandardCharsets.US_ASCII),
+                        hash(token).getBytes(StandardCharsets.US_ASCII)))
+                .filter(saved -> !saved.isExpired(new Date()))
+                .map(RefreshToken::getUserId);
+    }
+
+    // 회원의 모든 기기에서 발급된 리프레시 토큰 삭제 (로그아웃 시 호출)
+    public void revokeAll(String userId) {
+        int deleted = refreshTokenStore.deleteAllByUserId(userId);
+        log.info("리프레시 토큰 {}개 삭제 - user : {}", deleted, userId);
+    }
+
+    // 만료된 리프레시 토큰 정리 (만료된 토큰은 어차피 거절되지만 테이블이 계속 커지지 않도록)
+    @Scheduled(fixedDelayString = "${jwt.refresh.cleanup-interval-ms:3600000}",
+            initialDelayString = "${jwt.refresh.cleanup-initial-delay-ms:60000}")
+    public void deleteExpired() {
+        int deleted = refreshTokenStore.deleteExpired(new Date());
+        if (deleted > 0) {
+            log.info("만료된 리프레시 토큰 {}개 삭제", deleted);
+        }
+    }
+
+    // 토큰 원문의 SHA-256 해시 (16진수 64자)
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 JVM은 SHA-256을 지원해야 하므로 발생하지 않는다
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.todo.userapi.service;
+
+import com.example.todo.userapi.entity.RefreshToken;
+
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * 리프레시 토큰 발급 기록 저장소
+ * jwt.refresh.store 설정으로 구현체를 선택한다
+ * - jpa (기본값) : 발급, 조회마다 tbl_refresh_token을 직접 사용 (JpaRefreshTokenStore)
+ * - memory : 메모리에 보관하고 DB에는 비동기로 모아서 기록 (InMemoryRefreshTokenStore)
+ */
+public interface RefreshTokenStore {
+
+    // 발급한 리프레시 토큰 저장
+    void save(RefreshToken refreshToken);
+
+    // 토큰 id(jti)로 조회
+    Optional<RefreshToken> findById(String tokenId);
+
+    // 회원의 리프레시 토큰을 모두 삭제하고 삭제한 개수를 리턴
+    int deleteAllByUserId(String userId);
+
+    // 만료된 리프레시 토큰을 삭제하고 삭제한 개수를 리턴
+    int deleteExpired(Date now);
+}
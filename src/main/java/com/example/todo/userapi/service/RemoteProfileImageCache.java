@@ -0,0 +1,299 @@
+package com.example.todo.userapi.service;
+
+import com.example.todo.exception.UnsupportedImageException;
+import com.example.todo.exception.UploadTooLargeException;
+import com.example.todo.userapi.entity.RemoteImage;
+import com.example.todo.userapi.repository.RemoteImageRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@Slf4j
+// 역할 : 카카오 회원의 프로필 이미지(외부 url)를 한 번만 가져와서 로컬 이미지 저장소에 캐시
+// - 클라이언트가 카카오 CDN(http)에 직접 접근하지 않고, 업로드 이미지와 같은 방식(sendfile, 304, 썸네일)으로 응답받는다
+// - 캐시한 지 일정 시간(TTL)이 지나면 ETag / Last-Modified로 원본 서버에 변경 여부만 확인한다 (바뀌지 않았다면 304)
+// - 원본 서버에 접근할 수 없다면 캐시된 이미지를 그대로 사용하고, 일정 시간(failure-backoff) 동안 다시 요청하지 않는다
+//   (캐시된 이미지가 없는 url도 실패를 기억해서 요청마다 원본 서버를 기다리지 않는다)
+// - 이미지 요청은 카카오 로그인과 다른 커넥션 풀, 서킷 브레이커를 사용한다 (CDN 장애가 로그인에 영향을 주지 않도록)
+// - 오래 사용되지 않은 캐시는 정리하고 이미지의 참조 수를 내린다
+// - 허용된 호스트(카카오)의 이미지만 가져온다 (임의의 url을 서버가 대신 요청하지 않도록)
+public class RemoteProfileImageCache {
+
+    // 같은 url을 동시에 여러 번 가져오지 않도록 url 해시로 나눈 락
+    private static final int LOCK_STRIPES = 64;
+
+    // 다른 요청이 같은 url을 가져오는 중일 때 기다리는 최대 시간 (넘으면 캐시된 이미지 또는 url로 응답)
+    private static final long LOCK_WAIT_MILLIS = 500;
+
+    private final RemoteImageRepository remoteImageRepository;
+    private final ProfileImageStore profileImageStore;
+    private final ThumbnailService thumbnailService;
+    private final RestTemplate restTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration ttl;
+    private final List<String> allowedHosts;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    // 최근에 가져오지 못한 url 해시 (저장 후 failure-backoff가 지나면 자동으로 제거된다)
+    private final Cache<String, Boolean> recentFailures;
+
+    // 이 기간 동안 원본 서버에 확인하지 않은(사용되지 않은) 캐시는 정리
+    private final Duration unusedAfter;
+
+    public RemoteProfileImageCache(RemoteImageRepository remoteImageRepository,
+                                   ProfileImageStore profileImageStore,
+                                   ThumbnailService thumbnailService,
+                                   @Qualifier("kakaoImageRestTemplate") RestTemplate restTemplate,
+                                   @Qualifier("kakaoImageCircuitBreaker") CircuitBreaker circuitBreaker,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${kakao.image.ttl-minutes:1440}") long ttlMinutes,
+                                   @Value("${kakao.image.failure-backoff-seconds:300}") long failureBackoffSeconds,
+                                   @Value("${kakao.image.unused-days:30}") long unusedDays,
+                                   @Value("${kakao.image.allowed-hosts:kakaocdn.net,kakao.com,kakao.co.kr}") List<String> allowedHosts) {
+        this.remoteImageRepository = remoteImageRepository;
+        this.profileImageStore = profileImageStore;
+        this.thumbnailService = thumbnailService;
+        this.restTemplate = restTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.unusedAfter = Duration.ofDays(unusedDays);
+        this.allowedHosts = allowedHosts;
+        this.recentFailures = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofSeconds(failureBackoffSeconds))
+                .build();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 외부 이미지를 로컬 저장소의 키로 변환
+     * 캐시된 이미지가 없거나 TTL이 지났다면 원본 서버에서 가져오거나 재검증한다
+     *
+     * @param url - 외부 이미지 url
+     * @return - 로컬 이미지 저장소의 키 (허용되지 않은 호스트이거나, 캐시도 없고 가져오지도 못한 경우 비어있는 Optional)
+     */
+    public Optional<String> resolve(String url) {
+        if (!isAllowed(url)) {
+            log.warn("허용되지 않은 외부 이미지 url입니다 - {}", url);
+            return Optional.empty();
+        }
+
+        String urlHash = sha256(url);
+        Optional<RemoteImage> cached = remoteImageRepository.findById(urlHash);
+        if (cached.isPresent() && isFresh(cached.get())) {
+            return Optional.of(cached.get().getBlobKey());
+        }
+        // 최근에 가져오지 못했다면 원본 서버에 다시 요청하지 않는다
+        if (recentFailures.getIfPresent(urlHash) != null) {
+            return staleCopy(cached.orElse(null));
+        }
+
+        ReentrantLock lock = locks[Math.floorMod(urlHash.hashCode(), LOCK_STRIPES)];
+        try {
+            // 다른 요청이 원본 서버를 기다리는 중이라면 오래 기다리지 않는다
+            if (!lock.tryLock(LOCK_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return staleCopy(cached.orElse(null));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return staleCopy(cached.orElse(null));
+        }
+        try {
+            // 락을 기다리는 동안 다른 요청이 이미 가져왔거나 실패했을 수 있으므로 다시 확인
+            cached = remoteImageRepository.findById(urlHash);
+            if (cached.isPresent() && isFresh(cached.get())) {
+                return Optional.of(cached.get().getBlobKey());
+            }
+            if (recentFailures.getIfPresent(urlHash) != null) {
+                return staleCopy(cached.orElse(null));
+            }
+            return fetch(url, urlHash, cached.orElse(null));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 원본 서버에서 가져오기 (캐시가 있다면 조건부 요청)
+    private Optional<String> fetch(String url, String urlHash, RemoteImage cached) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            FetchResult result = circuitBreaker.executeSupplier(() -> restTemplate.execute(URI.create(url), HttpMethod.GET,
+                    request -> {
+                        if (cached == null) return;
+                        if (cached.getETag() != null) {
+                            request.getHeaders().set(HttpHeaders.IF_NONE_MATCH, cached.getETag());
+                        }
+                        if (cached.getLastModified() != null) {
+                            request.getHeaders().set(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+                        }
+                    },
+                    response -> {
+                        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                            return FetchResult.notModified();
+                        }
+                        // 응답 본문을 메모리에 모으지 않고 바로 이미지 저장소에 기록
+                        try (InputStream body = response.getBody()) {
+                            return new FetchResult(profileImageStore.store(body),
+                                    response.getHeaders().getETag(),
+                                    response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
+                        }
+                    }));
+
+            if (result == null || result.blobKey() == null) {
+                // 304 : 이미지가 그대로이므로 확인 시각만 갱신
+                if (cached == null) return Optional.empty();
+                transactionTemplate.executeWithoutResult(status -> remoteImageRepository.findById(urlHash)
+                        .ifPresent(image -> image.revalidated(now)));
+                return Optional.of(cached.getBlobKey());
+            }
+
+            save(url, urlHash, cached, result, now);
+            thumbnailService.enqueue(result.blobKey());
+            return Optional.of(result.blobKey());
+
+        } catch (CallNotPermittedException e) {
+            // 이미지 서버 장애로 서킷 브레이커가 열려있음 -> 요청하지 않고 캐시된 이미지 사용
+            return staleCopy(cached);
+        } catch (RestClientException | UploadTooLargeException | UnsupportedImageException e) {
+            // 원본 서버 장애, 이미지가 아닌 응답 등 -> 캐시된 이미지가 있다면 그대로 사용하고 한동안 다시 요청하지 않음
+            log.warn("외부 프로필 이미지를 가져오지 못했습니다 - {} : {}", url, e.getMessage());
+            recentFailures.put(urlHash, Boolean.TRUE);
+            return staleCopy(cached);
+        }
+    }
+
+    // 원본 서버에 확인하지 못했을 때 사용할 캐시된 이미지 (파일이 없다면 비어있는 Optional)
+    private Optional<String> staleCopy(RemoteImage cached) {
+        if (cached == null || !Files.exists(profileImageStore.resolve(cached.getBlobKey()))) {
+            return Optional.empty();
+        }
+        return Optional.of(cached.getBlobKey());
+    }
+
+    // 오래 사용되지 않은 캐시 정리 (이미지 참조 수를 내리고, 파일은 ProfileImageStore의 정리 작업이 삭제)
+    // 카카오 회원이 프로필 사진을 바꾸면 이전 url의 캐시는 더 이상 사용되지 않는다
+    @Scheduled(fixedDelayString = "${kakao.image.cleanup-interval-ms:3600000}",
+            initialDelayString = "${kakao.image.cleanup-initial-delay-ms:600000}")
+    public void deleteUnused() {
+        LocalDateTime before = LocalDateTime.now().minus(unusedAfter);
+        List<RemoteImage> unused = remoteImageRepository.findByFetchDateBefore(before, Limit.of(500));
+
+        int deleted = 0;
+        for (RemoteImage image : unused) {
+            ReentrantLock lock = locks[Math.floorMod(image.getUrlHash().hashCode(), LOCK_STRIPES)];
+            lock.lock();
+            try {
+                Integer rows = transactionTemplate.execute(status -> {
+                    int removed = remoteImageRepository.deleteIfFetchedBefore(image.getUrlHash(), before);
+                    if (removed > 0) {
+                        profileImageStore.release(image.getBlobKey());
+                    }
+                    return removed;
+                });
+                if (rows != null && rows > 0) deleted++;
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (deleted > 0) {
+            log.info("사용하지 않는 외부 프로필 이미지 캐시 {}개 정리", deleted);
+        }
+    }
+
+    // 캐시 정보 저장 (이미지가 바뀌었다면 이전 이미지의 참조 수를 내리고 새 이미지의 참조 수를 올린다)
+    private void save(String url, String urlHash, RemoteImage cached, FetchResult result, LocalDateTime now) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Optional<RemoteImage> found = cached == null ? Optional.empty() : remoteImageRepository.findById(urlHash);
+            if (found.isPresent()) {
+                RemoteImage image = found.get();
+                if (!image.getBlobKey().equals(result.blobKey())) {
+                    profileImageStore.release(image.getBlobKey());
+                    profileImageStore.retain(result.blobKey());
+                }
+                image.replace(result.blobKey(), result.eTag(), result.lastModified(), now);
+            } else {
+                remoteImageRepository.save(RemoteImage.builder()
+                        .urlHash(urlHash)
+                        .url(url)
+                        .blobKey(result.blobKey())
+                        .eTag(result.eTag())
+                        .lastModified(result.lastModified())
+                        .fetchDate(now)
+                        .build());
+                profileImageStore.retain(result.blobKey());
+            }
+        });
+    }
+
+    private boolean isFresh(RemoteImage image) {
+        return image.getFetchDate().plus(ttl).isAfter(LocalDateTime.now())
+                && Files.exists(profileImageStore.resolve(image.getBlobKey()));
+    }
+
+    // 허용된 호스트(또는 그 하위 도메인)의 http, https url인지 확인
+    private boolean isAllowed(String url) {
+        try {
+            URI uri = URI.create(url);
+            String scheme = uri.getScheme();
+            String host = uri.getHost();
+            if (host == null || !("http".equals(scheme) || "https".equals(scheme))) return false;
+            return allowedHosts.stream()
+                    .map(String::trim)
+                    .anyMatch(allowed -> host.equals(allowed) || host.endsWith("." + allowed));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 JVM은 SHA-256을 지원해야 하므로 발생하지 않는다
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 원본 서버 응답 (blobKey가 null이면 304)
+    private record FetchResult(String blobKey, String eTag, String lastModified) {
+
+        static FetchResult notModified() {
+            return new FetchResult(null, null, null);
+        }
+    }
+}
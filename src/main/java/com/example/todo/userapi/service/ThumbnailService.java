@@ -0,0 +1,266 @@
+package com.example.todo.userapi.service;
+
+import com.example.todo.userapi.entity.ThumbnailJob;
+import com.example.todo.userapi.entity.ThumbnailJob.Status;
+import com.example.todo.userapi.repository.ThumbnailJobRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.*;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@Slf4j
+// 역할 : 업로드된 프로필 이미지의 썸네일(고정 크기 JPEG)을 백그라운드에서 생성
+// - 작업은 tbl_thumbnail_job에 저장하고, 스케줄러가 대기중인 작업을 가져와서 전용 스레드 풀에서 실행한다
+//   (회원 가입 요청은 작업 등록만 하고 리사이즈를 기다리지 않는다)
+// - 스레드 풀과 대기열 크기를 제한해서 이미지 처리가 다른 요청의 CPU를 빼앗지 않도록 한다
+// - 생성된 썸네일은 원본 옆에 <sha256>_<크기>.jpg로 저장된다 (ProfileImageStore.resolveRendition)
+public class ThumbnailService {
+
+    // 생성할 썸네일 크기 (정사각형, px)
+    public static final List<Integer> SIZES = List.of(64, 128, 256);
+    private static final int MAX_SIZE = Collections.max(SIZES);
+
+    // 최대 실행 횟수 (넘으면 FAILED)
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final ThumbnailJobRepository thumbnailJobRepository;
+    private final ProfileImageStore profileImageStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+
+    // 한 번에 가져올 작업 수
+    private final int batchSize;
+
+    // RUNNING 상태로 이 시간 이상 남은 작업은 서버가 중간에 종료된 것으로 보고 다시 실행
+    private final Duration staleAfter;
+
+    // 썸네일을 만들 원본 이미지의 최대 픽셀 수 (가로 x 세로)
+    // 파일 크기가 작아도 매우 큰 크기를 선언한 이미지(압축 폭탄)를 디코딩하면 메모리가 부족해지므로 읽기 전에 거절한다
+    private final long maxPixels;
+
+    public ThumbnailService(ThumbnailJobRepository thumbnailJobRepository,
+                            ProfileImageStore profileImageStore,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${thumbnail.threads:2}") int threads,
+                            @Value("${thumbnail.queue-capacity:50}") int queueCapacity,
+                            @Value("${thumbnail.batch-size:20}") int batchSize,
+                            @Value("${thumbnail.stale-after-minutes:10}") long staleAfterMinutes,
+                            @Value("${thumbnail.max-pixels:16777216}") long maxPixels) {
+        this.thumbnailJobRepository = thumbnailJobRepository;
+        this.profileImageStore = profileImageStore;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.staleAfter = Duration.ofMinutes(staleAfterMinutes);
+        this.maxPixels = maxPixels;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder("thumbnail.executor.queue", executor, e -> e.getQueue().size())
+                .description("썸네일 생성 대기열 길이")
+                .register(meterRegistry);
+    }
+
+    // 썸네일 생성 작업 등록 (새로운 원본 이미지가 저장되었을 때)
+    public void enqueue(String blobKey) {
+        try {
+            thumbnailJobRepository.save(ThumbnailJob.builder()
+                    .blobKey(blobKey)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // 같은 이미지의 작업이 이미 등록됨
+            log.debug("이미 등록된 썸네일 작업입니다 - {}", blobKey);
+        }
+    }
+
+    // 대기중인 작업을 가져와서 스레드 풀에 전달
+    @Scheduled(fixedDelayString = "${thumbnail.poll-interval-ms:2000}")
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            int failed = thumbnailJobRepository.failStale(
+                    Status.RUNNING, Status.FAILED, MAX_ATTEMPTS, now.minus(staleAfter), now);
+            if (failed > 0) {
+                log.warn("최대 실행 횟수 동안 끝나지 않은 썸네일 작업 {}개를 실패 처리했습니다", failed);
+            }
+            thumbnailJobRepository.resetStale(Status.PENDING, Status.RUNNING, now.minus(staleAfter), now);
+        });
+
+        // 스레드 풀 대기열에 남은 자리만큼만 가져온다
+        int capacity = Math.min(batchSize, executor.getQueue().remainingCapacity());
+        if (capacity <= 0) return;
+
+        List<ThumbnailJob> jobs = thumbnailJobRepository.findByStatus(Status.PENDING, Limit.of(capacity));
+        for (ThumbnailJob job : jobs) {
+            Integer claimed = transactionTemplate.execute(status -> thumbnailJobRepository.claim(
+                    job.getJobId(), Status.PENDING, Status.RUNNING, LocalDateTime.now()));
+            // 다른 서버가 먼저 가져간 작업
+            if (claimed == null || claimed == 0) continue;
+
+            try {
+                executor.execute(() -> process(job));
+            } catch (RejectedExecutionException e) {
+                // 대기열이 가득 찼다면 다음 실행 때 다시 가져가도록 되돌려놓는다 (실행하지 않았으므로 실행 횟수도 되돌림)
+                transactionTemplate.executeWithoutResult(status -> thumbnailJobRepository.unclaim(
+                        job.getJobId(), Status.RUNNING, Status.PENDING, LocalDateTime.now()));
+                break;
+            }
+        }
+    }
+
+    private void process(ThumbnailJob job) {
+        String blobKey = job.getBlobKey();
+        try {
+            createRenditions(blobKey);
+            transactionTemplate.executeWithoutResult(status -> thumbnailJobRepository.deleteById(job.getJobId()));
+            log.info("썸네일 생성 완료 - {}", blobKey);
+        } catch (UnsupportedThumbnailSourceException e) {
+            // 다시 시도해도 결과가 같으므로 바로 실패 처리
+            log.warn("썸네일을 만들 수 없는 이미지입니다 - {} : {}", blobKey, e.getMessage());
+            updateStatus(job.getJobId(), Status.FAILED);
+        } catch (Throwable e) {
+            // OutOfMemoryError 등 Error도 실패로 기록 (RUNNING으로 남아서 계속 다시 실행되지 않도록)
+            // claim 시 증가한 실행 횟수 반영
+            boolean giveUp = job.getAttempts() + 1 >= MAX_ATTEMPTS;
+            log.warn("썸네일 생성 실패 ({}회) - {}", job.getAttempts() + 1, blobKey, e);
+            updateStatus(job.getJobId(), giveUp ? Status.FAILED : Status.PENDING);
+        }
+    }
+
+    // 원본 이미지를 읽어서 크기별 썸네일 생성
+    private void createRenditions(String blobKey) throws IOException {
+        BufferedImage source = readSource(profileImageStore.resolve(blobKey));
+
+        for (int size : SIZES) {
+            Path target = profileImageStore.resolveRendition(blobKey, size);
+            if (Files.exists(target)) continue;
+
+            // 임시 파일에 쓴 뒤 이동 (쓰는 도중의 파일이 응답되지 않도록)
+            Path temp = Files.createTempFile(target.getParent(), "thumb-", ".part");
+            try {
+                writeJpeg(resize(source, size), temp);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    // 원본 이미지 읽기
+    // 디코딩 전에 헤더의 가로, 세로 크기를 확인해서 너무 큰 이미지는 거절하고,
+    // 가장 큰 썸네일의 2배 정도 크기로 줄여서(subsampling) 읽는다 (원본 크기의 픽셀 배열을 만들지 않음)
+    private BufferedImage readSource(Path original) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = in == null ? Collections.emptyIterator() : ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new UnsupportedThumbnailSourceException("이미지로 읽을 수 없는 파일입니다");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width <= 0 || height <= 0 || (long) width * height > maxPixels) {
+                    throw new UnsupportedThumbnailSourceException(
+                            "이미지 크기가 너무 큽니다 (" + width + "x" + height + ")");
+                }
+
+                int step = Math.max(1, Math.min(width, height) / (MAX_SIZE * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 가운데를 기준으로 정사각형으로 자른 뒤 size x size로 축소
+    private static BufferedImage resize(BufferedImage source, int size) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        int x = (source.getWidth() - side) / 2;
+        int y = (source.getHeight() - side) / 2;
+
+        BufferedImage target = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            // JPEG는 투명도를 지원하지 않으므로 흰 배경 위에 그린다
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, size, size);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, size, size, x, y, x + side, y + side, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private void updateStatus(String jobId, Status status) {
+        transactionTemplate.executeWithoutResult(tx -> thumbnailJobRepository.updateStatus(jobId, status, LocalDateTime.now()));
+    }
+
+    // 썸네일을 만들 수 없는 원본 (다시 시도하지 않음)
+    private static class UnsupportedThumbnailSourceException extends IOException {
+
+        UnsupportedThumbnailSourceException(String message) {
+            super(message);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 실행 중이던 작업은 RUNNING으로 남고, 다음 실행 시 resetStale로 다시 처리된다
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.todo.userapi.service;
+
+import com.example.todo.config.CacheConfig;
+import com.example.todo.userapi.entity.User;
+import com.example.todo.userapi.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+// 역할 : 회원 정보 조회 결과를 캐싱하는 읽기 전용 서비스
+// 캐시에서 꺼낸 엔터티는 영속성 컨텍스트에 속하지 않으므로 값을 수정하면 안 된다
+// (수정이 필요한 경우에는 UserRepository로 직접 조회할 것)
+// 회원 정보가 변경되면 UserCacheEvictListener가 캐시를 비운다
+public class UserLookupService {
+
+    private final UserRepository userRepository;
+
+    @Cacheable(cacheNames = CacheConfig.USER_BY_ID, key = "#userId")
+    public Optional<User> findById(String userId) {
+        return userRepository.findById(userId);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.USER_BY_EMAIL, key = "#email")
+    public Optional<User> findByEmail(String email) {
+        return userRepository.findByEmail(email);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.USER_EXISTS_BY_EMAIL, key = "#email")
+    public boolean existsByEmail(String email) {
+        return userRepository.existsByEmail(email);
+    }
+}
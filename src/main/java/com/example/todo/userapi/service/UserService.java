@@ -1,5 +1,6 @@
 package com.example.todo.userapi.service;
 
+import com.example.todo.auth.PasswordHashingService;
 import com.example.todo.auth.TokenProvider;
 import com.example.todo.auth.TokenUserInfo;
 import com.example.todo.exception.NoRegisteredArgumentException;
@@ -13,25 +14,20 @@ import com.example.todo.userapi.entity.User;
 import com.example.todo.userapi.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.Date;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @Slf4j
@@ -40,42 +36,41 @@ import java.util.UUID;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserLookupService userLookupService;
+    private final PasswordHashingService passwordHashingService;
     private final TokenProvider tokenProvider;
-
-    @Value("${kakao.client_id}")
-    private String KAKAO_CLIENT_ID;
-
-    @Value("${kakao.redirect_url}")
-    private String KAKAO_REDIRECT_URL;
-
-    @Value("${kakao.client_secret}")
-    private String KAKAO_CLIENT_SECRET;
-
-    @Value("${upload.path}")
-    private String uploadRootPath;
+    private final RefreshTokenService refreshTokenService;
+    private final KakaoApiClient kakaoApiClient;
+    private final TransactionTemplate transactionTemplate;
+    private final ProfileImageStore profileImageStore;
+    private final ThumbnailService thumbnailService;
+    private final RemoteProfileImageCache remoteProfileImageCache;
 
     public boolean isDuplicated(String email) {
-        if (userRepository.existsByEmail(email)) {
+        if (userLookupService.existsByEmail(email)) {
             log.warn("이메일이 중복되었습니다. - {}", email);
             return true;
         } else return false;
     }
 
     public UserSignUpResponseDTO create(final UserSignUpRequestDTO dto,
-                                        final String uploadRootPath) {
+                                        final String profileImageKey) {
         String email = dto.getEmail();
 
         if (isDuplicated(email)) {
             throw new RuntimeException("중복된 이메일입니다");
         }
 
-        // 패스워드 인코딩
-        String encoded = passwordEncoder.encode(dto.getPassword());
+        // 패스워드 인코딩 (해시 전용 스레드 풀에서 실행)
+        String encoded = passwordHashingService.encode(dto.getPassword());
         dto.setPassword(encoded);
 
         // dto를 User entity로 변환해서 저장
-        User saved = userRepository.save(dto.toEntity(uploadRootPath));
+        User saved = userRepository.save(dto.toEntity(profileImageKey));
+        // 프로필 이미지 참조 수 증가 (회원 저장과 같은 트랜잭션)
+        if (profileImageKey != null) {
+            profileImageStore.retain(profileImageKey);
+        }
         log.info("회원 가입 정상 수행됨 - saved user - {}", saved);
 
         return new UserSignUpResponseDTO(saved);
@@ -91,27 +86,31 @@ public class UserService {
         String rawPassword = dto.getPassword(); // 입력한 비밀번호
         String encodedPassword = user.getPassword();    // DB에 저장된 암호화된 비밀번호
 
-        if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+        if (!passwordHashingService.matches(rawPassword, encodedPassword)) {
             throw new RuntimeException("비밀번호가 틀렸습니다");
         }
 
+        // 저장된 해시의 알고리즘이나 강도가 현재 설정과 다르다면 로그인한 비밀번호로 다시 해시해서 저장
+        if (passwordHashingService.needsRehash(encodedPassword)) {
+            user.changePassword(passwordHashingService.encode(rawPassword));
+            log.info("{}님의 비밀번호 해시를 갱신했습니다", user.getUserName());
+        }
+
         log.info("{}님 로그인 성공", user.getUserName());
 
         // 로그인 성공 후 로그인 유지를 위해 클라이언트에게 JWT를 발급해주어야 한다
         Map<String, String> token = getTokenMap(user);
 
-        // 리프레시 토큰은 수명이 길다 (최소 2~3주, 2~3개월도 가능)
-        // 데이터베이스에 저장해놓고, 새로운 액세스 토큰 요청때마다 만료일을 조회해서 비교
-        user.changeRefreshToken(token.get("refresh_token"));
-        user.changeRefreshExpiryDate(tokenProvider.getExpiryDate(token.get("refresh_token")));
-        userRepository.save(user);
         return new LoginResponseDTO(user, token);
     }
 
     // AccessKey와 RefreshKey를 한번에 새롭게 발급받아 Map으로 포장해주는 메서드
     private Map<String, String> getTokenMap(User user) {
         String accessToken = tokenProvider.createAccessKey(user);
-        String refreshToken = tokenProvider.createRefreshKey(user);
+        // 리프레시 토큰은 수명이 길다 (최소 2~3주, 2~3개월도 가능)
+        // 발급 기록(tbl_refresh_token)에 저장해놓고, 새로운 액세스 토큰 요청때마다 조회해서 비교
+        // 기기마다 따로 저장되므로 다른 기기의 로그인을 덮어쓰지 않는다
+        String refreshToken = refreshTokenService.issue(user);
 
         Map<String, String> token = new HashMap<>();
         token.put("access_token", accessToken);
@@ -140,179 +139,141 @@ public class UserService {
     }
 
     /**
-     * 업로드 된 파일을 서버에 저장하고 저장 경로를 리턴
+     * 업로드 된 파일을 서버에 저장하고 저장 키를 리턴
+     * 같은 내용의 이미지는 한 번만 저장된다 (ProfileImageStore)
      *
      * @param profileImage - 업로드 된 파일 정보
-     * @return 실제로 저장된 이미지 경로
+     * @return 회원 정보에 저장할 이미지 키
      */
+    // 파일 저장은 트랜잭션 밖에서 처리 (이미지 정보, 썸네일 작업 등록은 각각 짧은 트랜잭션으로 저장)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String uploadProfileImage(MultipartFile profileImage) throws IOException {
-
-        // 루트 디렉토리가 실존하는지 확인 후 존재하지 않으면 생성
-        File rootDir = new File(uploadRootPath);
-        if (!rootDir.exists()) rootDir.mkdirs();
-
-        // 파일명을 충돌 가능성을 대비해서 유니크하게 변경
-        // 여기서는 UUID와 원본파일명 결합
-        String uniqueFileName = UUID.randomUUID() + "-" + profileImage.getOriginalFilename();
-
-        // 파일 저장
-        File uploadFile = new File(uploadRootPath + "/" + uniqueFileName);
-        profileImage.transferTo(uploadFile);
-
-        return uniqueFileName;
+        String blobKey = profileImageStore.store(profileImage);
+        // 썸네일은 백그라운드에서 생성 (가입 요청은 리사이즈를 기다리지 않는다)
+        thumbnailService.enqueue(blobKey);
+        return blobKey;
     }
 
-    public String findProfilePath(String userId) {
-        User user = userRepository.findById(userId).orElseThrow(RuntimeException::new);
+    /**
+     * 프로필 이미지 경로 조회
+     *
+     * @param userId - 회원 id
+     * @param size - 원하는 이미지 크기(px, 정사각형). 이 크기 이상인 가장 작은 썸네일을 사용하고,
+     *             null이거나 썸네일보다 크거나 아직 썸네일이 생성되지 않았다면 원본
+     * @return - 이미지 파일 경로 (카카오 회원의 이미지를 로컬에 캐시하지 못했다면 이미지 url)
+     */
+    // 카카오 이미지를 가져오는 동안 DB 커넥션을 점유하지 않도록 트랜잭션 밖에서 처리
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String findProfilePath(String userId, Integer size) {
+        User user = userLookupService.findById(userId).orElseThrow(RuntimeException::new);
 
         String profileImg = user.getProfileImg();
-        if (profileImg.startsWith("http://")) {
-            return profileImg;
+        if (isRemoteImage(profileImg)) {
+            // 카카오 회원 : 로컬 이미지 저장소에 캐시된 이미지를 업로드 이미지와 같은 방식으로 응답
+            Optional<String> cachedKey = remoteProfileImageCache.resolve(profileImg);
+            if (cachedKey.isEmpty()) {
+                return profileImg;
+            }
+            profileImg = cachedKey.get();
         }
 
-        // DB에는 파일명만 저장 -> service가 갖고 있는 Root Path와 연결해서 리턴
-        return uploadRootPath + "/" + user.getProfileImg();
-    }
-
-    public LoginResponseDTO kakaoService(String code) {
-        // 인가 코드를 통해서 토큰 발급받기
-        String accessToken = getKakaoAccessToken(code);
-        log.info("token : {}", accessToken);
-
-        // 토큰을 통해 사용자 정보 가져오기
-        KakaoUserDTO userDTO = getKakaoUserInfo(accessToken);
-        log.info("userDTO : {}", userDTO);
-
-        // 일회성 로그인으로 처리 -> DTO를 화면단에 리턴
-        // 회원가입 처리 -> 이메일 중복 검사 진행 -> 자체 jwt를 생성해서 토큰을 화면단에 리턴
-        // -> 화면단에서는 적절한 url을 선택하여 redirect 진행
-
-        if (!isDuplicated(userDTO.getKakaoAccount().getEmail())) {
-            // 이메일이 중복되지 않음 -> 이전에 로그인 한적 없음 -> DB에 데이터 세팅
-            User saved = userRepository.save(userDTO.toEntity(accessToken));
+        if (size != null) {
+            for (int renditionSize : ThumbnailService.SIZES) {
+                if (renditionSize < size) continue;
+                Path rendition = profileImageStore.resolveRendition(profileImg, renditionSize);
+                if (rendition != null && Files.exists(rendition)) {
+                    return rendition.toString();
+                }
+                break;
+            }
         }
 
-        // 이메일 중복
-        User foundUser = userRepository.findByEmail(userDTO.getKakaoAccount().getEmail()).orElseThrow();
-
-        // 사이트 내에서 사용하는 jwt 생성
-        Map<String, String> token = getTokenMap(foundUser);
-
-        // 기존에 로그인했던 사용자의 access token 값을 update
-        foundUser.changeAccessToken(accessToken);
-        userRepository.save(foundUser);
-
-        return new LoginResponseDTO(foundUser, token);
+        // DB에는 이미지 키만 저장 -> 키로 저장 경로를 계산해서 리턴
+        return profileImageStore.resolve(profileImg).toString();
     }
 
-    private KakaoUserDTO getKakaoUserInfo(String accessToken) {
-        // 요청 uri
-        String requestURI = "https://kapi.kakao.com/v2/user/me";
-
-        // 요청 헤더 설정
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Authorization", "Bearer " + accessToken);
-        headers.add("Content-type", "application/x-www-form-urlencoded;charset=utf-8");
-
-        // 요청 보내기
-        RestTemplate template = new RestTemplate();
-        ResponseEntity<KakaoUserDTO> responseEntity
-                = template.exchange(requestURI, HttpMethod.GET, new HttpEntity<>(headers), KakaoUserDTO.class);
-
-        // 응답 바디 꺼내기
-        KakaoUserDTO responseData = responseEntity.getBody();
-        log.info("user profile : {}", responseData);
+    private static boolean isRemoteImage(String profileImg) {
+        return profileImg.startsWith("http://") || profileImg.startsWith("https://");
+    }
 
-        return responseData;
+    /**
+     * 카카오 로그인 처리
+     * 카카오 서버 호출(토큰 발급 -> 사용자 정보 조회)은 트랜잭션 밖에서 비동기로 처리하고,
+     * 회원 정보 저장은 마지막에 짧은 트랜잭션 하나로 처리한다
+     * (외부 API 응답을 기다리는 동안 DB 커넥션을 점유하지 않기 위함)
+     *
+     * @param code - 프론트에서 전달받은 카카오 인가 코드
+     * @return - 로그인 결과 (카카오 호출과 저장이 끝나면 완료)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<LoginResponseDTO> kakaoService(String code) {
+        // 인가 코드를 통해서 토큰 발급받기 -> 토큰을 통해 사용자 정보 가져오기
+        return kakaoApiClient.getAccessTokenAsync(code)
+                .thenCompose(accessToken -> kakaoApiClient.getUserInfoAsync(accessToken)
+                        .thenApply(userDTO -> {
+                            log.info("userDTO : {}", userDTO);
+                            return upsertKakaoUser(userDTO, accessToken);
+                        }))
+                // 사이트 내에서 사용하는 jwt 생성
+                .thenApply(user -> new LoginResponseDTO(user, getTokenMap(user)));
+    }
 
+    // 카카오 회원 정보를 한 번의 조회로 저장 또는 수정
+    private User upsertKakaoUser(KakaoUserDTO userDTO, String accessToken) {
+        try {
+            return transactionTemplate.execute(status -> saveOrUpdateKakaoUser(userDTO, accessToken));
+        } catch (DataIntegrityViolationException e) {
+            // 같은 회원이 동시에 처음 로그인해서 이메일 중복으로 저장에 실패한 경우 -> 이미 저장된 회원을 수정
+            log.warn("카카오 회원 동시 가입 감지, 다시 시도합니다 - {}", userDTO.getKakaoAccount().getEmail());
+            return transactionTemplate.execute(status -> saveOrUpdateKakaoUser(userDTO, accessToken));
+        }
     }
 
-    private String getKakaoAccessToken(String code) {
-        // 요청 uri
-        String requestURI = "https://kauth.kakao.com/oauth/token";
-
-        // 요청 헤더 설정
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-type", "application/x-www-form-urlencoded;charset=utf-8");
-
-        // 요청 바디(파라미터) 설정
-        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-        params.add("grant_type", "authorization_code"); // 카카오 공식 문서 기준 값으로 세팅
-        params.add("client_id", KAKAO_CLIENT_ID); // 카카오 디벨로퍼 REST API 키
-        params.add("redirect_uri", KAKAO_REDIRECT_URL); // 카카오 디벨로퍼 등록된 redirect uri
-        params.add("code", code); // 프론트에서 인가 코드 요청시 전달받은 코드값
-        params.add("client_secret", KAKAO_CLIENT_SECRET); // 카카오 디벨로퍼 client secret(활성화 시 추가해 줘야 함)
-
-        // 헤더와 바디 정보를 합치기 위해 HttpEntity 객체 생성
-        HttpEntity<Object> requestEntity = new HttpEntity<>(params, headers);
-
-        // 카카오 서버로 POST 통신
-        RestTemplate template = new RestTemplate();
-
-        // 통신을 보내면서 응답데이터를 리턴
-        // param1: 요청 url
-        // param2: 요청 메서드 (전송 방식)
-        // param3: 헤더와 요청 파라미터정보 엔터티
-        // param4: 응답 데이터를 받을 객체의 타입 (ex: dto, map)
-        // 만약 구조가 복잡한 경우에는 응답 데이터 타입을 String으로 받아서 JSON-simple 라이브러리로 직접 해체.
-        ResponseEntity<Map> responseEntity
-                = template.exchange(requestURI, HttpMethod.POST, requestEntity, Map.class);
-
-        /*
-            HTTP/1.1 200 OK
-            Content-Type: application/json;charset=UTF-8
-            {
-                "token_type":"bearer",
-                "access_token":"${ACCESS_TOKEN}",
-                "expires_in":43199,
-                "refresh_token":"${REFRESH_TOKEN}",
-                "refresh_token_expires_in":5184000,
-                "scope":"account_email profile"
-            }
-        */
+    private User saveOrUpdateKakaoUser(KakaoUserDTO userDTO, String accessToken) {
+        // 이메일로 한 번만 조회 (중복 검사와 조회를 따로 하지 않음)
+        Optional<User> found = userRepository.findByEmail(userDTO.getKakaoAccount().getEmail());
 
-        // 응답 데이터에서 필요한 정보 가져오기
-        Map<String, Object> responseData = responseEntity.getBody();
-        log.info(("토큰 요청 응답 데이터 : {}"), responseData);
+        if (found.isEmpty()) {
+            // 이전에 로그인 한적 없음 -> DB에 데이터 세팅
+            return userRepository.saveAndFlush(userDTO.toEntity(accessToken));
+        }
 
-        // 여러가지 데이터 중 access_token이라는 이름의 데이터 리턴
-        // Object를 String으로 형 변환해서 리턴
-        return (String) responseData.get("access_token");
+        // 기존에 로그인했던 사용자의 access token 값을 update (변경 감지로 커밋 시 반영)
+        User foundUser = found.get();
+        foundUser.changeAccessToken(accessToken);
+        return foundUser;
     }
 
+    // 모든 기기의 리프레시 토큰을 폐기하고, 카카오 로그인 회원이라면 카카오에서도 로그아웃
+    // 토큰 폐기는 카카오 로그아웃 결과와 상관없이 먼저 커밋되도록 트랜잭션 밖에서 처리 (카카오 호출 중 커넥션도 잡지 않는다)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String logout(TokenUserInfo userInfo) {
         User foundUser = userRepository.findById(userInfo.getUserId()).orElseThrow();
+        refreshTokenService.revokeAll(foundUser.getId());
+
         String accessToken = foundUser.getAccessToken();
 
         if (accessToken != null) {  // 카카오 로그인 한 경우
-            String reqURI = "https://kapi.kakao.com/v1/user/logout";
-            HttpHeaders headers = new HttpHeaders();
-            headers.add("Authorization", "Bearer " + accessToken);
-
-            ResponseEntity<String> responseData
-                    = new RestTemplate().exchange(reqURI, HttpMethod.POST, new HttpEntity<>(headers), String.class);
+            String responseData = kakaoApiClient.logout(accessToken);
             foundUser.changeAccessToken(null);
             userRepository.save(foundUser);
 
-            return responseData.getBody();
+            return responseData;
         }
         return null;
     }
 
+    @Transactional(readOnly = true)
     public String renewalAccessToken(Map<String, String> tokenRequest) {
         String refreshToken = tokenRequest.get("refreshToken");
-        boolean isValid = tokenProvider.validateRefreshToken(refreshToken);
-
-        if (isValid) {
-            // 토큰 값이 유효하다면 만료일자 검사
-            User foundUser = userRepository.findByRefreshToken(refreshToken).orElseThrow();
-            if (!foundUser.getRefreshTokenExpiryDate().before(new Date())) {
-                // 만료일이 오늘보다 이전이 아니라면 = 만료되지 않았다면
-                String newAccessKey = tokenProvider.createAccessKey(foundUser);
-                return newAccessKey;
-            }
-        }
-        // 유효하지 않는다면 null 리턴
-        return null;
+        if (refreshToken == null) return null;
+
+        // 서명, 발급 기록, 만료일자 검사 (토큰 id로 한 건만 조회)
+        // 회원 정보는 캐시에서 조회
+        return refreshTokenService.verify(refreshToken)
+                .flatMap(userLookupService::findById)
+                .map(tokenProvider::createAccessKey)
+                // 유효하지 않는다면 null 리턴
+                .orElse(null);
     }
 }
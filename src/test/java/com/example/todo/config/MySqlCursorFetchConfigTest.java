@@ -0,0 +1,51 @@
+package com.example.todo.config;
+
+import com.github.gavlyukovskiy.boot.jdbc.decorator.DataSourceDecoratorAutoConfiguration;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// p6spy 데코레이터까지 함께 띄워서 실제 커넥션 풀에 옵션이 전달되는지 확인 (DB에 연결하지는 않는다)
+class MySqlCursorFetchConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    DataSourceAutoConfiguration.class, DataSourceDecoratorAutoConfiguration.class))
+            .withUserConfiguration(MySqlCursorFetchConfig.class);
+
+    @Test
+    @DisplayName("p6spy가 데이터 소스를 감싸더라도 MySQL 커넥션 풀에 useCursorFetch 옵션이 추가되어야 한다")
+    void cursorFetchReachesPool() {
+        contextRunner
+                .withPropertyValues("spring.datasource.url=jdbc:mysql://localhost:3306/todo")
+                .run(context -> {
+                    DataSource dataSource = context.getBean(DataSource.class);
+                    assertFalse(dataSource instanceof HikariDataSource, "p6spy 데코레이터가 적용되어야 한다");
+
+                    HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+                    assertEquals("true", pool.getDataSourceProperties().getProperty("useCursorFetch"));
+                });
+    }
+
+    @Test
+    @DisplayName("설정으로 끄거나 MySQL이 아니라면 옵션을 추가하지 않아야 한다")
+    void skipWhenDisabledOrNotMySql() {
+        contextRunner
+                .withPropertyValues("spring.datasource.url=jdbc:mysql://localhost:3306/todo",
+                        "todo.jdbc.cursor-fetch=false")
+                .run(context -> assertNull(context.getBean(DataSource.class).unwrap(HikariDataSource.class)
+                        .getDataSourceProperties().getProperty("useCursorFetch")));
+
+        contextRunner
+                .withPropertyValues("spring.datasource.url=jdbc:h2:mem:cursor-fetch")
+                .run(context -> assertNull(context.getBean(DataSource.class).unwrap(HikariDataSource.class)
+                        .getDataSourceProperties().getProperty("useCursorFetch")));
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.todo.todoapi.api;
+
+import com.example.todo.auth.TokenUserInfo;
+import com.example.todo.config.CacheConfig;
+import com.example.todo.exception.GlobalExceptionHandler;
+import com.example.todo.todoapi.event.TodoEventHub;
+import com.example.todo.todoapi.repository.TodoRepository;
+import com.example.todo.todoapi.service.TodoBatchService;
+import com.example.todo.todoapi.service.TodoCountManager;
+import com.example.todo.todoapi.service.TodoService;
+import com.example.todo.todoapi.service.TodoVersionTracker;
+import com.example.todo.userapi.entity.Role;
+import com.example.todo.userapi.entity.User;
+import com.example.todo.userapi.entity.UserCacheEvictListener;
+import com.example.todo.userapi.repository.UserRepository;
+import com.example.todo.userapi.service.UserLookupService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DataJpaTest
+@Import({TodoService.class, TodoVersionTracker.class, TodoCountManager.class, UserLookupService.class,
+        CacheConfig.class, UserCacheEvictListener.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+// 실제 서비스와 내장 DB(H2)로 할 일 API의 응답을 확인 (토큰 검사 필터 대신 인증 정보를 직접 등록)
+// 요청마다 서비스가 트랜잭션을 관리하도록 테스트가 관리하는 트랜잭션 없이 실행
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TodoControllerTest {
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TodoRepository todoRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    MockMvc mockMvc;
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new TodoController(todoService, mock(TodoBatchService.class), mock(TodoEventHub.class)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+        user = saveUser();
+        login(user);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        todoRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("delta 모드로 등록, 수정, 삭제하면 전체 목록 대신 변경된 할 일과 목록 버전만 응답해야 한다")
+    void deltaMode() throws Exception {
+        JsonNode created = json(mockMvc.perform(post("/api/todos?mode=delta")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"장보기\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.action").value("CREATED"))
+                .andExpect(jsonPath("$.todo.title").value("장보기"))
+                .andExpect(jsonPath("$.todos").doesNotExist())
+                .andReturn());
+        String id = created.get("id").asText();
+
+        // 헤더로 요청해도 같은 형식, 수정 응답에도 제목이 담겨야 한다
+        mockMvc.perform(patch("/api/todos")
+                        .header("X-Response-Mode", "delta")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": \"" + id + "\", \"done\": true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.action").value("UPDATED"))
+                .andExpect(jsonPath("$.todo.title").value("장보기"))
+                .andExpect(jsonPath("$.todo.done").value(true));
+
+        MvcResult deleted = mockMvc.perform(delete("/api/todos/" + id + "?mode=delta"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.action").value("DELETED"))
+                .andExpect(jsonPath("$.id").value(id))
+                .andReturn();
+        // ETag 헤더와 응답의 version은 같은 값
+        assertEquals(json(deleted).get("version").asText(), deleted.getResponse().getHeader("ETag"));
+
+        // delta 모드가 아니라면 기존처럼 전체 목록 응답
+        mockMvc.perform(post("/api/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"청소하기\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.todos.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("커서로 다음 페이지를 요청하면 이전 페이지 다음의 할 일부터 이어서 응답해야 한다")
+    void cursorNextPage() throws Exception {
+        createTodos("할 일 1", "할 일 2", "할 일 3");
+
+        JsonNode first = json(mockMvc.perform(get("/api/todos?size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.todos.length()").value(2))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn());
+        String cursor = first.get("nextCursor").asText();
+
+        JsonNode second = json(mockMvc.perform(get("/api/todos")
+                        .param("size", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.todos.length()").value(1))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                .andReturn());
+
+        // 두 페이지를 합치면 빠지거나 겹치는 할 일 없이 전체 목록이 된다
+        List<String> titles = new ArrayList<>();
+        first.get("todos").forEach(todo -> titles.add(todo.get("title").asText()));
+        second.get("todos").forEach(todo -> titles.add(todo.get("title").asText()));
+        assertEquals(Set.of("할 일 1", "할 일 2", "할 일 3"), new HashSet<>(titles));
+        assertEquals(3, titles.size());
+    }
+
+    @Test
+    @DisplayName("다른 회원의 할 일은 수정, 삭제할 수 없고 404를 응답해야 한다")
+    void otherUsersTodoIsNotFound() throws Exception {
+        User other = saveUser();
+        login(other);
+        createTodos("남의 할 일");
+        String othersTodoId = todoRepository.findAll().get(0).getTodoId();
+
+        login(user);
+        mockMvc.perform(patch("/api/todos?mode=delta")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": \"" + othersTodoId + "\", \"done\": true}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/todos/" + othersTodoId + "?mode=delta"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/todos/" + UUID.randomUUID() + "?mode=delta"))
+                .andExpect(status().isNotFound());
+
+        // 작성자의 할 일은 그대로 남아있어야 한다
+        assertFalse(todoRepository.findById(othersTodoId).orElseThrow().isDone());
+    }
+
+    @Test
+    @DisplayName("목록이 바뀌지 않았다면 If-None-Match 요청에 304를, 바뀌었다면 새 ETag와 목록을 응답해야 한다")
+    void notModifiedWithIfNoneMatch() throws Exception {
+        createTodos("할 일 1");
+
+        String eTag = mockMvc.perform(get("/api/todos"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/todos").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        // 페이지 요청은 전체 목록과 다른 ETag를 사용한다
+        mockMvc.perform(get("/api/todos?size=10").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+
+        createTodos("할 일 2");
+        String changed = mockMvc.perform(get("/api/todos").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.todos.length()").value(2))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(eTag, changed);
+    }
+
+    private void createTodos(String... titles) throws Exception {
+        for (String title : titles) {
+            mockMvc.perform(post("/api/todos")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\": \"" + title + "\"}"))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private User saveUser() {
+        return userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@test.com")
+                .password("password")
+                .userName("tester")
+                .build());
+    }
+
+    // JwtAuthFilter가 등록하는 것과 같은 인증 정보
+    private static void login(User user) {
+        TokenUserInfo userInfo = TokenUserInfo.builder()
+                .userId(user.getId())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                userInfo, null, List.of(new SimpleGrantedAuthority("ROLE_" + Role.COMMON))));
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.todo.todoapi.service;
+
+import com.example.todo.config.CacheConfig;
+import com.example.todo.todoapi.entity.Todo;
+import com.example.todo.todoapi.repository.TodoRepository;
+import com.example.todo.userapi.entity.Role;
+import com.example.todo.userapi.entity.User;
+import com.example.todo.userapi.entity.UserCacheEvictListener;
+import com.example.todo.userapi.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({CacheConfig.class, UserCacheEvictListener.class})
+// 여러 요청이 동시에 할 일을 등록해도 일반 회원의 등록 제한(5개)을 넘지 않는지 확인
+// 요청마다 자기 트랜잭션에서 자리를 확보하도록 테스트가 관리하는 트랜잭션 없이 실행
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TodoCountManagerTest {
+
+    private static final int THREADS = 10;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TodoRepository todoRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate transactionTemplate;
+    TodoCountManager todoCountManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        todoCountManager = new TodoCountManager(userRepository, transactionTemplate, 500);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        todoRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("일반 회원이 동시에 등록해도 제한 개수까지만 자리를 확보해야 한다")
+    void concurrentReserveNeverExceedsLimit() throws Exception {
+        User user = saveUser(Role.COMMON, 0);
+
+        assertEquals(TodoCountManager.COMMON_TODO_LIMIT, reserveConcurrently(user.getId()));
+        assertEquals(TodoCountManager.COMMON_TODO_LIMIT, todoCount(user.getId()));
+    }
+
+    @Test
+    @DisplayName("개수를 세지 않은 회원은 실제 할 일 개수로 채운 뒤 제한을 검사해야 한다")
+    void reserveBackfillsUncountedUser() throws Exception {
+        User user = saveUser(Role.COMMON, null);
+        saveTodos(user, 2);
+
+        // 이미 2개가 있으므로 동시에 등록해도 3개만 성공
+        assertEquals(TodoCountManager.COMMON_TODO_LIMIT - 2, reserveConcurrently(user.getId()));
+        assertEquals(TodoCountManager.COMMON_TODO_LIMIT, todoCount(user.getId()));
+    }
+
+    @Test
+    @DisplayName("등록 제한이 없는 회원은 제한 개수를 넘어서도 자리를 확보할 수 있어야 한다")
+    void premiumUserHasNoLimit() throws Exception {
+        User user = saveUser(Role.PREMIUM, 0);
+
+        assertEquals(THREADS, reserveConcurrently(user.getId()));
+        assertEquals(THREADS, todoCount(user.getId()));
+    }
+
+    @Test
+    @DisplayName("시작 시 채우기는 개수를 세지 않은 회원만 실제 개수로 채워야 한다")
+    void backfillOnlyUncountedUsers() {
+        User uncounted = saveUser(Role.COMMON, null);
+        saveTodos(uncounted, 3);
+        User counted = saveUser(Role.COMMON, 1);
+
+        todoCountManager.backfill();
+
+        assertEquals(3, todoCount(uncounted.getId()));
+        assertEquals(1, todoCount(counted.getId()));
+    }
+
+    @Test
+    @DisplayName("보정 작업은 실제 개수와 다른 카운터를 맞춰야 한다")
+    void reconcileRepairsDrift() {
+        User user = saveUser(Role.COMMON, 4);
+        saveTodos(user, 1);
+
+        todoCountManager.reconcile();
+
+        assertEquals(1, todoCount(user.getId()));
+    }
+
+    // THREADS개의 요청이 동시에 각자의 트랜잭션에서 자리를 확보 (TodoService.create와 같은 방식)
+    // 리턴값 : 자리를 확보한 요청 수
+    private int reserveConcurrently(String userId) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                Boolean ok = transactionTemplate.execute(status -> todoCountManager.tryReserve(userId));
+                if (Boolean.TRUE.equals(ok)) reserved.incrementAndGet();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        return reserved.get();
+    }
+
+    private User saveUser(Role role, Integer todoCount) {
+        return userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@test.com")
+                .password("password")
+                .userName("tester")
+                .role(role)
+                .todoCount(todoCount)
+                .build());
+    }
+
+    private void saveTodos(User user, int count) {
+        for (int i = 0; i < count; i++) {
+            todoRepository.save(Todo.builder().title("할 일 " + i).user(user).build());
+        }
+    }
+
+    private int todoCount(String userId) {
+        return userRepository.findById(userId).orElseThrow().getTodoCount();
+    }
+}
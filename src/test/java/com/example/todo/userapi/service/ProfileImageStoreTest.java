@@ -0,0 +1,148 @@
+package com.example.todo.userapi.service;
+
+import com.example.todo.config.CacheConfig;
+import com.example.todo.userapi.entity.UserCacheEvictListener;
+import com.example.todo.userapi.repository.ProfileBlobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({CacheConfig.class, UserCacheEvictListener.class})
+// 정리 작업(deleteUnreferenced)과 같은 이미지의 업로드(store + retain)가 겹쳐도 사용 중인 파일이 지워지지 않는지 확인
+// 업로드와 정리 작업이 각자의 트랜잭션을 사용하도록 테스트가 관리하는 트랜잭션 없이 실행
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProfileImageStoreTest {
+
+    // 1x1 png
+    private static final byte[] PNG = Base64.getDecoder().decode(
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==");
+
+    // 정리 대상이 되기까지의 대기 시간 (분)
+    private static final long GRACE_MINUTES = 60;
+
+    @Autowired
+    ProfileBlobRepository profileBlobRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path uploadRoot;
+
+    TransactionTemplate transactionTemplate;
+    ProfileImageStore profileImageStore;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        profileImageStore = new ProfileImageStore(profileBlobRepository, transactionTemplate,
+                uploadRoot.toString(), GRACE_MINUTES, 5242880);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        profileBlobRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("참조되지 않고 오래된 파일만 정리되고, 참조 중인 파일은 남아있어야 한다")
+    void deleteOnlyUnreferenced() throws Exception {
+        String orphan = profileImageStore.store(new ByteArrayInputStream(PNG));
+        String used = profileImageStore.store(new ByteArrayInputStream(png((byte) 1)));
+        transactionTemplate.executeWithoutResult(status -> profileImageStore.retain(used));
+        makeOld(orphan);
+        makeOld(used);
+
+        profileImageStore.deleteUnreferenced();
+
+        assertTrue(Files.notExists(profileImageStore.resolve(orphan)));
+        assertTrue(profileBlobRepository.findById(orphan).isEmpty());
+        assertTrue(Files.exists(profileImageStore.resolve(used)));
+    }
+
+    @Test
+    @DisplayName("최근에 다시 업로드된 파일은 참조 수가 0이어도 정리되지 않아야 한다")
+    void reuploadTouchesBlob() throws Exception {
+        String key = profileImageStore.store(new ByteArrayInputStream(PNG));
+        makeOld(key);
+
+        assertEquals(key, profileImageStore.store(new ByteArrayInputStream(PNG)));
+        profileImageStore.deleteUnreferenced();
+
+        assertTrue(Files.exists(profileImageStore.resolve(key)));
+    }
+
+    @Test
+    @DisplayName("정리 작업이 파일을 지우는 중에 같은 이미지가 업로드되면, 업로드가 끝난 뒤 파일이 다시 저장되어 있어야 한다")
+    void uploadDuringCleanupKeepsFile() throws Exception {
+        String key = profileImageStore.store(new ByteArrayInputStream(PNG));
+        makeOld(key);
+        LocalDateTime before = LocalDateTime.now().minusMinutes(GRACE_MINUTES);
+
+        ExecutorService uploader = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> upload = transactionTemplate.execute(status -> {
+                // 정리 작업처럼 파일 정보 행을 먼저 잠근다
+                assertTrue(profileBlobRepository.lockIfUnreferenced(key, before).isPresent());
+
+                // 같은 이미지를 업로드하고 회원 정보에 사용 (파일이 아직 있으므로 이동하지 않고 등록에서 잠금을 기다린다)
+                Future<String> future = uploader.submit(() -> {
+                    String uploaded = profileImageStore.store(new ByteArrayInputStream(PNG));
+                    transactionTemplate.executeWithoutResult(s -> profileImageStore.retain(uploaded));
+                    return uploaded;
+                });
+                assertThrows(TimeoutException.class, () -> future.get(300, TimeUnit.MILLISECONDS));
+
+                // 잠금을 잡은 채로 파일과 행을 삭제하고 커밋
+                assertTrue(profileImageStore.deleteIfUnreferenced(key, before));
+                assertTrue(Files.notExists(profileImageStore.resolve(key)));
+                return future;
+            });
+
+            assertEquals(key, upload.get(10, TimeUnit.SECONDS));
+        } finally {
+            uploader.shutdownNow();
+        }
+
+        assertArrayEquals(PNG, Files.readAllBytes(profileImageStore.resolve(key)));
+        assertEquals(1, profileBlobRepository.findById(key).orElseThrow().getRefCount());
+
+        // 참조 중이므로 다음 정리에서도 남아있어야 한다
+        makeOld(key);
+        profileImageStore.deleteUnreferenced();
+        assertTrue(Files.exists(profileImageStore.resolve(key)));
+    }
+
+    // 마지막 업로드 시각을 정리 대기 시간 이전으로 돌린다
+    private void makeOld(String key) {
+        transactionTemplate.executeWithoutResult(status ->
+                profileBlobRepository.touch(key, LocalDateTime.now().minusMinutes(GRACE_MINUTES * 2)));
+    }
+
+    // 내용이 다른 png (끝에 바이트를 하나 덧붙여서 해시를 바꾼다)
+    private static byte[] png(byte extra) {
+        byte[] bytes = new byte[PNG.length + 1];
+        System.arraycopy(PNG, 0, bytes, 0, PNG.length);
+        bytes[PNG.length] = extra;
+        return bytes;
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.todo.userapi.service;
+
+import com.example.todo.config.CacheConfig;
+import com.example.todo.exception.ServiceUnavailableException;
+import com.example.todo.userapi.entity.RefreshToken;
+import com.example.todo.userapi.entity.UserCacheEvictListener;
+import com.example.todo.userapi.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({JpaRefreshTokenStore.class, CacheConfig.class, UserCacheEvictListener.class})
+// 여러 스레드에서 동시에 로그인(저장) -> 재발급(조회)을 반복했을 때 저장소가 토큰을 잃어버리지 않는지 확인
+// 테스트가 관리하는 트랜잭션 없이 실제 요청처럼 저장소가 트랜잭션을 관리하도록 한다
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenStoreLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenStoreLoadTest.class);
+
+    private static final int THREADS = 16;
+    private static final int LOGINS_PER_THREAD = 200;
+    private static final int USERS = 50;
+
+    @Autowired
+    RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    JpaRefreshTokenStore jpaRefreshTokenStore;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        refreshTokenRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("JPA 저장소 - 동시에 저장하고 조회해도 모든 토큰을 찾을 수 있어야 한다")
+    void jpaStoreUnderLoad() throws Exception {
+        int saved = runLoad(jpaRefreshTokenStore, "jpa");
+
+        assertEquals(saved, refreshTokenRepository.count());
+    }
+
+    @Test
+    @DisplayName("메모리 저장소 - 동시에 저장하고 조회해도 모든 토큰을 찾을 수 있고, flush 후에는 DB에도 기록되어야 한다")
+    void inMemoryStoreUnderLoad() throws Exception {
+        InMemoryRefreshTokenStore store = inMemoryStore(new SimpleMeterRegistry(), 1000);
+
+        int saved = runLoad(store, "memory");
+        store.flush();
+
+        assertEquals(saved, refreshTokenRepository.count());
+    }
+
+    @Test
+    @DisplayName("메모리 저장소 - 회원의 토큰을 삭제하면 메모리와 DB 모두에서 삭제되어야 한다")
+    void inMemoryStoreDeleteAll() {
+        InMemoryRefreshTokenStore store = inMemoryStore(new SimpleMeterRegistry(), 1000);
+
+        RefreshToken token = newToken("user-1", 60_000);
+        store.save(token);
+        store.save(newToken("user-2", 60_000));
+
+        assertEquals(1, store.deleteAllByUserId("user-1"));
+        store.flush();
+
+        assertTrue(store.findById(token.getTokenId()).isEmpty());
+        assertEquals(1, refreshTokenRepository.count());
+    }
+
+    @Test
+    @DisplayName("메모리 저장소 - 만료된 토큰은 조회되지 않고 정리 시 제거되어야 한다")
+    void inMemoryStoreExpiry() {
+        InMemoryRefreshTokenStore store = inMemoryStore(new SimpleMeterRegistry(), 1000);
+
+        RefreshToken expired = newToken("user-1", -1_000);
+        RefreshToken valid = newToken("user-1", 60_000);
+        store.save(expired);
+        store.save(valid);
+
+        assertTrue(store.findById(expired.getTokenId()).isEmpty());
+        assertEquals(1, store.deleteExpired(new Date()));
+        assertTrue(store.findById(valid.getTokenId()).isPresent());
+    }
+
+    @Test
+    @DisplayName("메모리 저장소 - 기록할 수 없는 토큰이 있어도 나머지 토큰은 기록되고, 여러 번 실패한 토큰은 포기해야 한다")
+    void inMemoryStoreDeadLetter() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        InMemoryRefreshTokenStore store = inMemoryStore(meterRegistry, 1000);
+
+        // token_hash 컬럼(64자)보다 길어서 항상 실패하는 토큰
+        RefreshToken broken = RefreshToken.builder()
+                .tokenId(UUID.randomUUID().toString())
+                .tokenHash("0".repeat(65))
+                .userId("user-1")
+                .expiryDate(new Date(System.currentTimeMillis() + 60_000))
+                .build();
+        store.save(broken);
+        store.save(newToken("user-2", 60_000));
+        store.flush();
+        assertEquals(1, refreshTokenRepository.count());
+
+        store.save(newToken("user-3", 60_000));
+        store.flush();
+        assertEquals(2, refreshTokenRepository.count());
+        assertEquals(1.0, meterRegistry.counter("jwt.refresh.store.dead.letters").count());
+        assertEquals(0.0, meterRegistry.get("jwt.refresh.store.retry").gauge().value());
+    }
+
+    @Test
+    @DisplayName("메모리 저장소 - 기록 대기열이 가득 차면 DB에 직접 기록하지 않고 발급을 거절해야 한다")
+    void inMemoryStoreRejectsWhenQueueFull() {
+        InMemoryRefreshTokenStore store = inMemoryStore(new SimpleMeterRegistry(), 1);
+
+        store.save(newToken("user-1", 60_000));
+        RefreshToken rejected = newToken("user-1", 60_000);
+
+        assertThrows(ServiceUnavailableException.class, () -> store.save(rejected));
+        assertTrue(store.findById(rejected.getTokenId()).isEmpty());
+        assertEquals(0, refreshTokenRepository.count());
+    }
+
+    // 한 번에 500개씩 기록하고, 작업 하나는 최대 2번까지 실패할 수 있는 메모리 저장소
+    private InMemoryRefreshTokenStore inMemoryStore(SimpleMeterRegistry meterRegistry, int queueCapacity) {
+        return new InMemoryRefreshTokenStore(refreshTokenRepository, new TransactionTemplate(transactionManager),
+                meterRegistry, queueCapacity, 500, 1000, 2);
+    }
+
+    // 스레드마다 토큰을 저장하고 바로 조회 (로그인 직후 재발급 요청)
+    // 리턴값 : 저장한 토큰 수
+    private int runLoad(RefreshTokenStore store, String name) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger missing = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            int threadNo = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < LOGINS_PER_THREAD; i++) {
+                    RefreshToken token = newToken("user-" + (threadNo * LOGINS_PER_THREAD + i) % USERS, 60_000);
+                    store.save(token);
+                    if (store.findById(token.getTokenId()).isEmpty()) {
+                        missing.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+        executor.shutdown();
+
+        int total = THREADS * LOGINS_PER_THREAD;
+        log.info("[{}] 저장+조회 {}회 : {}ms ({} ops/s)",
+                name, total, elapsedMillis, total * 1000L / Math.max(elapsedMillis, 1));
+
+        assertEquals(0, missing.get());
+        return total;
+    }
+
+    private static RefreshToken newToken(String userId, long ttlMillis) {
+        return RefreshToken.builder()
+                .tokenId(UUID.randomUUID().toString())
+                .tokenHash("0".repeat(64))
+                .userId(userId)
+                .expiryDate(new Date(System.currentTimeMillis() + ttlMillis))
+                .build();
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.todo.userapi.service;
+
+import com.example.todo.config.CacheConfig;
+import com.example.todo.userapi.entity.UserCacheEvictListener;
+import com.example.todo.userapi.repository.ProfileBlobRepository;
+import com.example.todo.userapi.repository.RemoteImageRepository;
+import com.example.todo.userapi.repository.ThumbnailJobRepository;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({CacheConfig.class, UserCacheEvictListener.class})
+// 로컬 스텁 서버를 카카오 이미지 서버로 사용해서 외부 이미지 캐시 동작 확인
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RemoteProfileImageCacheTest {
+
+    // 1x1 png
+    private static final byte[] PNG = Base64.getDecoder().decode(
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==");
+    private static final String ETAG = "\"v1\"";
+
+    @Autowired
+    RemoteImageRepository remoteImageRepository;
+
+    @Autowired
+    ProfileBlobRepository profileBlobRepository;
+
+    @Autowired
+    ThumbnailJobRepository thumbnailJobRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path uploadRoot;
+
+    HttpServer server;
+    ThumbnailService thumbnailService;
+    ProfileImageStore profileImageStore;
+
+    // 스텁 서버가 받은 요청 수 (전체 / 304 응답)
+    final AtomicInteger requests = new AtomicInteger();
+    final AtomicInteger notModified = new AtomicInteger();
+
+    // true면 /profile.png도 503 응답 (원본 서버 장애)
+    final AtomicBoolean originDown = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/profile.png", exchange -> {
+            requests.incrementAndGet();
+            if (originDown.get()) {
+                exchange.sendResponseHeaders(503, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().set("ETag", ETAG);
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "image/png");
+            exchange.sendResponseHeaders(200, PNG.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(PNG);
+            }
+        });
+        server.createContext("/down.png", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        profileImageStore = new ProfileImageStore(profileBlobRepository, transactionTemplate,
+                uploadRoot.toString(), 60, 5242880);
+        thumbnailService = new ThumbnailService(thumbnailJobRepository, profileImageStore, transactionTemplate,
+                new SimpleMeterRegistry(), 1, 10, 10, 10, 16777216);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        thumbnailService.shutdown();
+        remoteImageRepository.deleteAllInBatch();
+        thumbnailJobRepository.deleteAllInBatch();
+        profileBlobRepository.deleteAllInBatch();
+    }
+
+    private RemoteProfileImageCache cache(long ttlMinutes) {
+        return cache(ttlMinutes, 30, List.of("localhost"));
+    }
+
+    private RemoteProfileImageCache cache(long ttlMinutes, long unusedDays, List<String> allowedHosts) {
+        return new RemoteProfileImageCache(remoteImageRepository, profileImageStore, thumbnailService,
+                new RestTemplate(), CircuitBreaker.ofDefaults("test"), new TransactionTemplate(transactionManager),
+                ttlMinutes, 300, unusedDays, allowedHosts);
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    @Test
+    @DisplayName("처음 요청하면 원본을 가져와서 저장하고, TTL 안에서는 다시 요청하지 않아야 한다")
+    void fetchOnceWithinTtl() throws Exception {
+        RemoteProfileImageCache cache = cache(60);
+
+        String key = cache.resolve(url("/profile.png")).orElseThrow();
+        String again = cache.resolve(url("/profile.png")).orElseThrow();
+
+        assertEquals(key, again);
+        assertEquals(1, requests.get());
+        assertArrayEquals(PNG, Files.readAllBytes(profileImageStore.resolve(key)));
+        assertEquals(1, profileBlobRepository.findById(key).orElseThrow().getRefCount());
+        assertEquals(1, thumbnailJobRepository.count());
+    }
+
+    @Test
+    @DisplayName("TTL이 지나면 ETag로 재검증하고, 304라면 다시 받지 않고 캐시된 이미지를 사용해야 한다")
+    void revalidateAfterTtl() {
+        RemoteProfileImageCache cache = cache(0);
+
+        String key = cache.resolve(url("/profile.png")).orElseThrow();
+        String again = cache.resolve(url("/profile.png")).orElseThrow();
+
+        assertEquals(key, again);
+        assertEquals(2, requests.get());
+        assertEquals(1, notModified.get());
+        assertEquals(1, profileBlobRepository.findById(key).orElseThrow().getRefCount());
+    }
+
+    @Test
+    @DisplayName("원본 서버가 실패하면 캐시된 이미지를 사용하고, 한동안 원본 서버에 다시 요청하지 않아야 한다")
+    void staleCopyOnOriginFailure() {
+        RemoteProfileImageCache cache = cache(0);
+        String key = cache.resolve(url("/profile.png")).orElseThrow();
+
+        originDown.set(true);
+        assertEquals(Optional.of(key), cache.resolve(url("/profile.png")));
+        assertEquals(Optional.of(key), cache.resolve(url("/profile.png")));
+
+        // 처음 가져올 때 1번, 실패한 재검증 1번 (두 번째는 실패를 기억해서 요청하지 않음)
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    @DisplayName("원본 서버가 실패하고 캐시된 이미지가 없다면 비어있어야 하고, 한동안 다시 요청하지 않아야 한다")
+    void originFailureWithoutCache() {
+        RemoteProfileImageCache cache = cache(60);
+
+        assertEquals(Optional.empty(), cache.resolve(url("/down.png")));
+        assertEquals(Optional.empty(), cache.resolve(url("/down.png")));
+        assertEquals(1, requests.get());
+        assertEquals(0, remoteImageRepository.count());
+    }
+
+    @Test
+    @DisplayName("오래 사용되지 않은 캐시를 정리하면 이미지 참조 수도 내려가야 한다")
+    void deleteUnused() {
+        RemoteProfileImageCache cache = cache(60, 0, List.of("localhost"));
+        String key = cache.resolve(url("/profile.png")).orElseThrow();
+
+        cache.deleteUnused();
+
+        assertEquals(0, remoteImageRepository.count());
+        assertEquals(0, profileBlobRepository.findById(key).orElseThrow().getRefCount());
+    }
+
+    @Test
+    @DisplayName("허용되지 않은 호스트의 이미지는 요청하지 않아야 한다")
+    void disallowedHost() {
+        RemoteProfileImageCache cache = cache(60, 30, List.of("kakaocdn.net"));
+
+        assertEquals(Optional.empty(), cache.resolve(url("/profile.png")));
+        assertEquals(0, requests.get());
+    }
+}